@@ -11,11 +11,9 @@ import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSeriali
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
- * Redis cache configuration for leaderboard caching.
+ * Redis cache configuration.
  */
 @Configuration
 @EnableCaching
@@ -29,18 +27,9 @@ public class CacheConfig {
                         RedisSerializationContext.SerializationPair.fromSerializer(
                                 new GenericJackson2JsonRedisSerializer()));
 
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-
-        // Leaderboard cache - 5 minutes TTL
-        cacheConfigurations.put("leaderboard", RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5))
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer())));
-
+        // The leaderboard is served from a Redis sorted set (see LeaderboardService)
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
     }
 }
@@ -0,0 +1,44 @@
+package com.petbuddy.gamification.config;
+
+import com.petbuddy.gamification.enums.BadgeMetric;
+import com.petbuddy.gamification.enums.PointAction;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Level and badge rule definitions bound from the gamification.* configuration.
+ * Compiled once at startup by LevelCalculator and BadgeRuleEngine.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gamification")
+@Data
+public class GamificationProperties {
+
+    private List<LevelDefinition> levels = new ArrayList<>();
+
+    private List<BadgeRule> badges = new ArrayList<>();
+
+    @Data
+    public static class LevelDefinition {
+        private int level;
+        private String title;
+        private int minPoints;
+        private int maxPoints;
+    }
+
+    /**
+     * Award {@code badge} when {@code action} is processed and {@code metric} >= {@code threshold}.
+     * With metric NONE the action alone unlocks the badge.
+     */
+    @Data
+    public static class BadgeRule {
+        private String badge;
+        private PointAction action;
+        private BadgeMetric metric = BadgeMetric.NONE;
+        private int threshold;
+    }
+}
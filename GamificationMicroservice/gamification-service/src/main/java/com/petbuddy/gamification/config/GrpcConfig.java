@@ -0,0 +1,18 @@
+package com.petbuddy.gamification.config;
+
+import com.petbuddy.gamification.grpc.GrpcLatencyInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * gRPC server interceptors applied to every service.
+ */
+@Configuration(proxyBeanMethods = false)
+public class GrpcConfig {
+
+    @GrpcGlobalServerInterceptor
+    GrpcLatencyInterceptor grpcLatencyInterceptor(MeterRegistry meterRegistry) {
+        return new GrpcLatencyInterceptor(meterRegistry);
+    }
+}
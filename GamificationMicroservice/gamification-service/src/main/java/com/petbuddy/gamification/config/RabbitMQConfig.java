@@ -1,12 +1,18 @@
 package com.petbuddy.gamification.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.stream.Stream;
+
 /**
  * RabbitMQ configuration for consuming events from other services.
  */
@@ -21,6 +27,7 @@ public class RabbitMQConfig {
 
     // Queue names (consumed by this service)
     public static final String GAMIFICATION_QUEUE = "gamification-events";
+    public static final String DEAD_LETTER_EXCHANGE = GAMIFICATION_QUEUE + ".dlx";
 
     // Routing keys
     public static final String POST_CREATED_KEY = "post.created";
@@ -29,6 +36,23 @@ public class RabbitMQConfig {
     public static final String ORDER_COMPLETED_KEY = "order.completed";
     public static final String DONATION_COMPLETED_KEY = "donation.completed";
 
+    public static final String BATCH_LISTENER_FACTORY = "batchListenerContainerFactory";
+
+    @Value("${gamification.events.batch-size:100}")
+    private int eventBatchSize;
+
+    @Value("${gamification.events.batch-receive-timeout-ms:200}")
+    private long eventBatchReceiveTimeoutMs;
+
+    @Value("${gamification.events.max-attempts:3}")
+    private int eventMaxAttempts;
+
+    @Value("${gamification.events.retry-initial-interval-ms:1000}")
+    private long eventRetryInitialIntervalMs;
+
+    @Value("${gamification.events.retry-max-interval-ms:10000}")
+    private long eventRetryMaxIntervalMs;
+
     @Bean
     public TopicExchange socialFeedExchange() {
         return new TopicExchange(SOCIAL_FEED_EXCHANGE);
@@ -47,7 +71,7 @@ public class RabbitMQConfig {
     @Bean
     public Queue gamificationQueue() {
         return QueueBuilder.durable(GAMIFICATION_QUEUE)
-                .withArgument("x-dead-letter-exchange", GAMIFICATION_QUEUE + ".dlx")
+                .withArgument("x-dead-letter-exchange", DEAD_LETTER_EXCHANGE)
                 .build();
     }
 
@@ -58,7 +82,7 @@ public class RabbitMQConfig {
 
     @Bean
     public DirectExchange deadLetterExchange() {
-        return new DirectExchange(GAMIFICATION_QUEUE + ".dlx");
+        return new DirectExchange(DEAD_LETTER_EXCHANGE);
     }
 
     @Bean
@@ -68,6 +92,17 @@ public class RabbitMQConfig {
                 .with(GAMIFICATION_QUEUE);
     }
 
+    /**
+     * Messages rejected by the container are dead-lettered with their original routing key
+     */
+    @Bean
+    public Declarables deadLetterEventBindings() {
+        return new Declarables(Stream.of(POST_CREATED_KEY, LIKE_CREATED_KEY, COMMENT_ADDED_KEY,
+                        ORDER_COMPLETED_KEY, DONATION_COMPLETED_KEY)
+                .map(key -> (Declarable) BindingBuilder.bind(deadLetterQueue()).to(deadLetterExchange()).with(key))
+                .toList());
+    }
+
     // Bind to social feed events
     @Bean
     public Binding postCreatedBinding() {
@@ -105,6 +140,32 @@ public class RabbitMQConfig {
         return new Jackson2JsonMessageConverter();
     }
 
+    /**
+     * Delivers up to eventBatchSize messages per listener call; a partial batch is
+     * released once no message arrives within the receive timeout.
+     *
+     * A batch that throws is retried in place with backoff up to eventMaxAttempts times,
+     * then rejected without requeue so it is dead-lettered instead of redelivered forever.
+     */
+    @Bean(name = BATCH_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(eventBatchSize);
+        factory.setPrefetchCount(eventBatchSize * 2);
+        factory.setReceiveTimeout(eventBatchReceiveTimeoutMs);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(eventMaxAttempts)
+                .backOffOptions(eventRetryInitialIntervalMs, 2.0, eventRetryMaxIntervalMs)
+                .recoverer(new RejectAndDontRequeueRecoverer())
+                .build());
+        return factory;
+    }
+
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
@@ -0,0 +1,18 @@
+package com.petbuddy.gamification.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.integration.redis.util.RedisLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+/**
+ * Distributed locks for scheduled jobs that must run on a single instance.
+ */
+@Configuration
+public class SchedulingConfig {
+    @Bean
+    public LockRegistry lockRegistry(RedisConnectionFactory redisConnectionFactory) {
+        return new RedisLockRegistry(redisConnectionFactory, "gamification-locks");
+    }
+}
@@ -1,6 +1,8 @@
 package com.petbuddy.gamification.controller;
 
 import com.petbuddy.gamification.dto.*;
+import com.petbuddy.gamification.enums.LeaderboardWindow;
+import com.petbuddy.gamification.service.ConcurrencyRetry;
 import com.petbuddy.gamification.service.GamificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,6 +28,7 @@ import java.util.UUID;
 public class GamificationController {
 
     private final GamificationService gamificationService;
+    private final ConcurrencyRetry concurrencyRetry;
 
     /**
      * Get current user's gamification state
@@ -54,11 +57,11 @@ public class GamificationController {
         log.info("POST /api/v1/gamification/points - User: {}, Action: {}",
                 userId, request.getAction());
 
-        AddPointsResponse response = gamificationService.addPoints(
+        AddPointsResponse response = concurrencyRetry.execute("addPoints", () -> gamificationService.addPoints(
                 UUID.fromString(userId),
                 request.getAction(),
                 request.getCustomPoints(),
-                request.getReferenceId());
+                request.getReferenceId()));
 
         return ResponseEntity.ok(response);
     }
@@ -73,7 +76,8 @@ public class GamificationController {
             @RequestHeader("X-User-Id") @Parameter(description = "User ID", required = true) String userId) {
 
         log.info("POST /api/v1/gamification/streak - User: {}", userId);
-        AddPointsResponse response = gamificationService.updateLoginStreak(UUID.fromString(userId));
+        AddPointsResponse response = concurrencyRetry.execute("updateLoginStreak",
+                () -> gamificationService.updateLoginStreak(UUID.fromString(userId)));
         return ResponseEntity.ok(response);
     }
 
@@ -116,13 +120,23 @@ public class GamificationController {
      * Get leaderboard
      */
     @GetMapping("/leaderboard")
-    @Operation(summary = "Get leaderboard", description = "Returns top users by points. Cached for 5 minutes.")
+    @Operation(summary = "Get leaderboard", description = "Returns top users by points. window: all_time (default), daily, weekly, monthly or last_7_days. "
+            + "For windowed leaderboards totalPoints is the points earned in that window.")
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Unknown window")
     public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(
-            @RequestParam(defaultValue = "50") @Parameter(description = "Number of users to return") int limit) {
+            @RequestParam(defaultValue = "50") @Parameter(description = "Number of users to return") int limit,
+            @RequestParam(defaultValue = "all_time") @Parameter(description = "Time window") String window) {
+
+        log.info("GET /api/v1/gamification/leaderboard - limit: {}, window: {}", limit, window);
+        LeaderboardWindow leaderboardWindow;
+        try {
+            leaderboardWindow = LeaderboardWindow.fromValue(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        log.info("GET /api/v1/gamification/leaderboard - limit: {}", limit);
-        List<LeaderboardEntryDTO> leaderboard = gamificationService.getLeaderboard(Math.min(limit, 100));
+        List<LeaderboardEntryDTO> leaderboard = gamificationService.getLeaderboard(leaderboardWindow, Math.min(limit, 100));
         return ResponseEntity.ok(leaderboard);
     }
 
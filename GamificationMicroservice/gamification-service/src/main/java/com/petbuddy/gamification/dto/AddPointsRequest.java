@@ -2,6 +2,7 @@ package com.petbuddy.gamification.dto;
 
 import com.petbuddy.gamification.enums.PointAction;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +19,8 @@ public class AddPointsRequest {
     @NotNull(message = "Action is required")
     private PointAction action;
 
-    // Optional: override default points
+    // Optional: override default points. Never negative: leaderboard totals only move up
+    @PositiveOrZero(message = "Custom points must not be negative")
     private Integer customPoints;
 
     // Optional: reference to triggering entity (postId, orderId, etc.)
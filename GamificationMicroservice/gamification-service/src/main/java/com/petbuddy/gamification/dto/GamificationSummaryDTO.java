@@ -0,0 +1,23 @@
+package com.petbuddy.gamification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Compact per-user gamification view (points, level, badges) for list screens.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GamificationSummaryDTO {
+    private String userId;
+    private int totalPoints;
+    private int currentLevel;
+    private String levelTitle;
+    private List<String> badgeIds;
+}
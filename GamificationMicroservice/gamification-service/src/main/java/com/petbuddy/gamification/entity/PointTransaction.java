@@ -4,15 +4,19 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
 
 /**
  * Audit log for point transactions.
  * Useful for debugging and analytics.
+ *
+ * Partitioned by month on created_at (see V3 migration); months past the retention
+ * window are moved to point_transactions_archive.
  */
 @Entity
 @Table(name = "point_transactions", indexes = {
-        @Index(name = "idx_transactions_user", columnList = "user_id"),
+        @Index(name = "idx_transactions_user_created", columnList = "user_id, created_at DESC"),
         @Index(name = "idx_transactions_created", columnList = "created_at DESC")
 })
 @Getter
@@ -42,7 +46,7 @@ public class PointTransaction {
     private Integer pointsAfter;
 
     @Column(name = "reference_id", length = 100)
-    private String referenceId; // e.g., postId, orderId
+    private String referenceId; // e.g., postId, orderId - claimed once per user in point_award_claims
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,7 +54,7 @@ public class PointTransaction {
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
-            createdAt = LocalDateTime.now();
+            createdAt = LocalDateTime.now(ZoneOffset.UTC);
         }
     }
 }
@@ -96,13 +96,24 @@ public class UserGamification {
         updatedAt = LocalDateTime.now();
     }
 
-    private LocalDate getStartOfCurrentWeek() {
+    /**
+     * Monday of the current week
+     */
+    public static LocalDate getStartOfCurrentWeek() {
         LocalDate today = LocalDate.now();
         return today.minusDays(today.getDayOfWeek().getValue() - 1);
     }
 
     /**
-     * Reset weekly stats (called by scheduler)
+     * Weekly stats belong to an earlier week and must be treated as zero.
+     * Rows are reset lazily on their next write, and in bulk by the weekly scheduler.
+     */
+    public boolean isWeeklyStatsStale() {
+        return weekStartDate == null || weekStartDate.isBefore(getStartOfCurrentWeek());
+    }
+
+    /**
+     * Reset weekly stats for the current week
      */
     public void resetWeeklyStats() {
         this.weeklyPosts = 0;
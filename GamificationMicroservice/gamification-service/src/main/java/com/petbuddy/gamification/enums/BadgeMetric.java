@@ -0,0 +1,28 @@
+package com.petbuddy.gamification.enums;
+
+import com.petbuddy.gamification.entity.UserGamification;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * User state values a badge rule can put a threshold on.
+ */
+@RequiredArgsConstructor
+public enum BadgeMetric {
+    NONE(state -> 0),
+    TOTAL_POINTS(UserGamification::getTotalPoints),
+    LOGIN_STREAK(UserGamification::getLoginStreak),
+    WEEKLY_POSTS(UserGamification::getWeeklyPosts),
+    WEEKLY_LIKES(UserGamification::getWeeklyLikes),
+    WEEKLY_COMMENTS(UserGamification::getWeeklyComments),
+    WEEKLY_PURCHASES(UserGamification::getWeeklyPurchases),
+    WEEKLY_DONATIONS(UserGamification::getWeeklyDonations),
+    WEEKLY_AI_QUESTIONS(UserGamification::getWeeklyAiQuestions);
+
+    private final ToIntFunction<UserGamification> extractor;
+
+    public int extract(UserGamification state) {
+        return extractor.applyAsInt(state);
+    }
+}
@@ -22,4 +22,16 @@ public enum BadgeType {
     private final String name;
     private final String description;
     private final String icon;
+
+    /**
+     * Resolve a badge from its id (e.g. "first_purchase")
+     */
+    public static BadgeType fromId(String id) {
+        for (BadgeType type : values()) {
+            if (type.id.equals(id)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown badge: " + id);
+    }
 }
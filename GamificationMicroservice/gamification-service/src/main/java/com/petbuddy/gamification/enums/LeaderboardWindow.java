@@ -0,0 +1,35 @@
+package com.petbuddy.gamification.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Time windows a leaderboard can be ranked over.
+ * Calendar windows (daily, weekly, monthly) are UTC; weeks follow ISO-8601 (Monday start).
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LeaderboardWindow {
+    ALL_TIME("all_time"),
+    DAILY("daily"),
+    WEEKLY("weekly"),
+    MONTHLY("monthly"),
+    LAST_7_DAYS("last_7_days");
+
+    private final String value;
+
+    /**
+     * Resolve a window from its API value (case-insensitive); blank means all-time
+     */
+    public static LeaderboardWindow fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL_TIME;
+        }
+        for (LeaderboardWindow window : values()) {
+            if (window.value.equalsIgnoreCase(value) || window.name().equalsIgnoreCase(value)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Unknown leaderboard window: " + value);
+    }
+}
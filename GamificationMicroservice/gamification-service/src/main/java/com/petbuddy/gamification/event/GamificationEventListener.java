@@ -2,96 +2,178 @@ package com.petbuddy.gamification.event;
 
 import com.petbuddy.gamification.config.RabbitMQConfig;
 import com.petbuddy.gamification.enums.PointAction;
+import com.petbuddy.gamification.service.ConcurrencyRetry;
 import com.petbuddy.gamification.service.GamificationService;
-import lombok.RequiredArgsConstructor;
+import com.petbuddy.gamification.service.GamificationService.BatchAwardResult;
+import com.petbuddy.gamification.service.GamificationService.PointAward;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
- * Consumes events from RabbitMQ and awards points.
+ * Consumes events from RabbitMQ in batches and awards points.
+ *
+ * Events are grouped by user and applied in one transaction per user per batch.
+ * When some users fail, only their messages are republished to the dead-letter exchange
+ * and the rest of the batch is acknowledged. When every user fails (typically the
+ * database is down) the batch is thrown back to the container, which retries it with
+ * backoff and then dead-letters it; awards are idempotent per referenceId, so a retried
+ * or replayed event is skipped as a duplicate.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class GamificationEventListener {
 
     private final GamificationService gamificationService;
+    private final ConcurrencyRetry concurrencyRetry;
+    private final MessageConverter messageConverter;
+    private final RabbitTemplate rabbitTemplate;
 
-    @RabbitListener(queues = RabbitMQConfig.GAMIFICATION_QUEUE)
-    public void handleEvent(Object event) {
-        log.debug("Received event: {}", event.getClass().getSimpleName());
-
-        try {
-            if (event instanceof GamificationEvents.PostCreatedEvent postEvent) {
-                handlePostCreated(postEvent);
-            } else if (event instanceof GamificationEvents.PostLikedEvent likeEvent) {
-                handlePostLiked(likeEvent);
-            } else if (event instanceof GamificationEvents.CommentCreatedEvent commentEvent) {
-                handleCommentCreated(commentEvent);
-            } else if (event instanceof GamificationEvents.OrderCompletedEvent orderEvent) {
-                handleOrderCompleted(orderEvent);
-            } else if (event instanceof GamificationEvents.DonationCompletedEvent donationEvent) {
-                handleDonationCompleted(donationEvent);
-            } else {
-                log.warn("Unknown event type: {}", event.getClass().getName());
-            }
-        } catch (Exception e) {
-            log.error("Error processing event: {}", e.getMessage(), e);
-            throw e; // Will go to DLQ
-        }
+    private final DistributionSummary batchSize;
+    private final Counter awardedEvents;
+    private final Counter duplicateEvents;
+    private final Counter failedEvents;
+    private final Counter deadLetteredEvents;
+
+    public GamificationEventListener(GamificationService gamificationService,
+            ConcurrencyRetry concurrencyRetry,
+            MessageConverter messageConverter,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry) {
+        this.gamificationService = gamificationService;
+        this.concurrencyRetry = concurrencyRetry;
+        this.messageConverter = messageConverter;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = DistributionSummary.builder("gamification.events.batch.size")
+                .description("Events delivered per listener batch")
+                .register(meterRegistry);
+        this.awardedEvents = eventCounter(meterRegistry, "awarded");
+        this.duplicateEvents = eventCounter(meterRegistry, "duplicate");
+        this.failedEvents = eventCounter(meterRegistry, "failed");
+        this.deadLetteredEvents = eventCounter(meterRegistry, "dead_lettered");
     }
 
-    private void handlePostCreated(GamificationEvents.PostCreatedEvent event) {
-        log.info("Processing post.created for user: {}", event.getUserId());
-        gamificationService.addPoints(
-                UUID.fromString(event.getUserId()),
-                PointAction.COMMUNITY_POST,
-                null,
-                "post_" + event.getPostId());
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gamification.events")
+                .tag("result", result) // "awarded", "duplicate", "failed" or "dead_lettered"
+                .description("Point-awarding events processed by the listener")
+                .register(meterRegistry);
     }
 
-    private void handlePostLiked(GamificationEvents.PostLikedEvent event) {
-        log.info("Processing post.liked by user: {}", event.getLikerId());
-        // Award points to the liker
-        gamificationService.addPoints(
-                UUID.fromString(event.getLikerId()),
-                PointAction.COMMUNITY_LIKE,
-                null,
-                "like_post_" + event.getPostId());
+    @RabbitListener(queues = RabbitMQConfig.GAMIFICATION_QUEUE, containerFactory = RabbitMQConfig.BATCH_LISTENER_FACTORY)
+    public void handleEvents(List<Message> messages) {
+        log.debug("Received batch of {} events", messages.size());
+        batchSize.record(messages.size());
+
+        Map<UUID, UserBatch> batchesByUser = new LinkedHashMap<>();
+        for (Message message : messages) {
+            Object event = null;
+            try {
+                event = messageConverter.fromMessage(message);
+                UserAward userAward = toAward(event);
+                if (userAward != null) {
+                    UserBatch batch = batchesByUser.computeIfAbsent(userAward.userId(), id -> new UserBatch());
+                    batch.awards().add(userAward.award());
+                    batch.messages().add(message);
+                }
+            } catch (MessageConversionException | IllegalArgumentException | NullPointerException e) {
+                // Malformed event (e.g. bad user id): drop it rather than redelivering the whole batch forever
+                failedEvents.increment();
+                log.error("Dropping malformed event {}: {}", event != null ? event : message, e.getMessage());
+            }
+        }
+
+        RuntimeException failure = null;
+        boolean anySucceeded = false;
+        List<Message> failedMessages = new ArrayList<>();
+        for (Map.Entry<UUID, UserBatch> entry : batchesByUser.entrySet()) {
+            List<PointAward> awards = entry.getValue().awards();
+            try {
+                BatchAwardResult result = concurrencyRetry.execute("addPointsBatch",
+                        () -> gamificationService.addPointsBatch(entry.getKey(), awards));
+                awardedEvents.increment(result.awarded());
+                duplicateEvents.increment(result.duplicates());
+                anySucceeded = true;
+            } catch (RuntimeException e) {
+                failedEvents.increment(awards.size());
+                log.error("Error processing {} events for user {}: {}",
+                        awards.size(), entry.getKey(), e.getMessage(), e);
+                failedMessages.addAll(entry.getValue().messages());
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+
+        if (failure == null) {
+            return;
+        }
+        if (!anySucceeded) {
+            throw failure; // Nothing succeeded: let the container retry the batch, then dead-letter it
+        }
+        deadLetter(failedMessages, failure);
     }
 
-    private void handleCommentCreated(GamificationEvents.CommentCreatedEvent event) {
-        log.info("Processing comment.created for user: {}", event.getUserId());
-        gamificationService.addPoints(
-                UUID.fromString(event.getUserId()),
-                PointAction.COMMUNITY_COMMENT,
-                null,
-                "comment_" + event.getCommentId());
+    /**
+     * Republish the messages of the users that failed to the dead-letter exchange, so the
+     * rest of the batch can be acknowledged. If that fails too, the batch is retried.
+     */
+    private void deadLetter(List<Message> failedMessages, RuntimeException failure) {
+        for (Message message : failedMessages) {
+            message.getMessageProperties().setHeader("x-exception-message", failure.getMessage());
+            message.getMessageProperties().setHeader("x-original-routing-key",
+                    message.getMessageProperties().getReceivedRoutingKey());
+            rabbitTemplate.send(RabbitMQConfig.DEAD_LETTER_EXCHANGE, RabbitMQConfig.GAMIFICATION_QUEUE, message);
+        }
+        deadLetteredEvents.increment(failedMessages.size());
+        log.warn("Dead-lettered {} events after processing failures", failedMessages.size());
     }
 
-    private void handleOrderCompleted(GamificationEvents.OrderCompletedEvent event) {
-        log.info("Processing order.completed for user: {}", event.getUserId());
+    private UserAward toAward(Object event) {
+        if (event instanceof GamificationEvents.PostCreatedEvent postEvent) {
+            return new UserAward(UUID.fromString(postEvent.getUserId()),
+                    new PointAward(PointAction.COMMUNITY_POST, null, "post_" + postEvent.getPostId()));
+        } else if (event instanceof GamificationEvents.PostLikedEvent likeEvent) {
+            // Award points to the liker
+            return new UserAward(UUID.fromString(likeEvent.getLikerId()),
+                    new PointAward(PointAction.COMMUNITY_LIKE, null, "like_post_" + likeEvent.getPostId()));
+        } else if (event instanceof GamificationEvents.CommentCreatedEvent commentEvent) {
+            return new UserAward(UUID.fromString(commentEvent.getUserId()),
+                    new PointAward(PointAction.COMMUNITY_COMMENT, null, "comment_" + commentEvent.getCommentId()));
+        } else if (event instanceof GamificationEvents.OrderCompletedEvent orderEvent) {
+            PointAction action = orderEvent.isFirstOrder()
+                    ? PointAction.FIRST_PURCHASE
+                    : PointAction.PRODUCT_PURCHASE;
+            return new UserAward(UUID.fromString(orderEvent.getUserId()),
+                    new PointAward(action, null, "order_" + orderEvent.getOrderId()));
+        } else if (event instanceof GamificationEvents.DonationCompletedEvent donationEvent) {
+            return new UserAward(UUID.fromString(donationEvent.getUserId()),
+                    new PointAward(PointAction.PROJECT_BUDDY_DONATION, null, "donation_" + donationEvent.getDonationId()));
+        }
 
-        PointAction action = event.isFirstOrder()
-                ? PointAction.FIRST_PURCHASE
-                : PointAction.PRODUCT_PURCHASE;
+        log.warn("Unknown event type: {}", event.getClass().getName());
+        return null;
+    }
 
-        gamificationService.addPoints(
-                UUID.fromString(event.getUserId()),
-                action,
-                null,
-                "order_" + event.getOrderId());
+    private record UserAward(UUID userId, PointAward award) {
     }
 
-    private void handleDonationCompleted(GamificationEvents.DonationCompletedEvent event) {
-        log.info("Processing donation.completed for user: {}", event.getUserId());
-        gamificationService.addPoints(
-                UUID.fromString(event.getUserId()),
-                PointAction.PROJECT_BUDDY_DONATION,
-                null,
-                "donation_" + event.getDonationId());
+    private record UserBatch(List<PointAward> awards, List<Message> messages) {
+        UserBatch() {
+            this(new ArrayList<>(), new ArrayList<>());
+        }
     }
 }
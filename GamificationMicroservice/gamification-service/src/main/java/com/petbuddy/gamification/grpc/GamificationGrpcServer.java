@@ -0,0 +1,208 @@
+package com.petbuddy.gamification.grpc;
+
+import com.petbuddy.gamification.dto.AddPointsResponse;
+import com.petbuddy.gamification.dto.GamificationStateDTO;
+import com.petbuddy.gamification.dto.GamificationSummaryDTO;
+import com.petbuddy.gamification.dto.LeaderboardEntryDTO;
+import com.petbuddy.gamification.dto.WeeklyStatsDTO;
+import com.petbuddy.gamification.enums.LeaderboardWindow;
+import com.petbuddy.gamification.enums.PointAction;
+import com.petbuddy.gamification.service.ConcurrencyRetry;
+import com.petbuddy.gamification.service.GamificationService;
+import com.petbuddy.gamification.service.GamificationSummaryService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * gRPC Server implementation for Gamification service.
+ * Exposes points, levels, badges and leaderboards to other microservices.
+ */
+@GrpcService
+@RequiredArgsConstructor
+@Slf4j
+public class GamificationGrpcServer extends GamificationGrpcServiceGrpc.GamificationGrpcServiceImplBase {
+
+    private static final int DEFAULT_LEADERBOARD_LIMIT = 50;
+    private static final int MAX_LEADERBOARD_LIMIT = 100;
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final GamificationService gamificationService;
+    private final GamificationSummaryService summaryService;
+    private final ConcurrencyRetry concurrencyRetry;
+
+    @Override
+    public void getUserGamification(GetUserGamificationRequest request,
+            StreamObserver<GamificationState> responseObserver) {
+        try {
+            GamificationStateDTO state = gamificationService.getGamificationState(UUID.fromString(request.getUserId()));
+
+            responseObserver.onNext(toGamificationState(state));
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(invalidArgument(e));
+        } catch (Exception e) {
+            log.error("Error getting gamification state for {}: {}", request.getUserId(), e.getMessage());
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void addPoints(AddPointsGrpcRequest request, StreamObserver<AddPointsGrpcResponse> responseObserver) {
+        try {
+            UUID userId = UUID.fromString(request.getUserId());
+            PointAction action = PointAction.valueOf(request.getAction());
+            if (request.getCustomPoints() < 0) {
+                throw new IllegalArgumentException("Custom points must not be negative");
+            }
+            Integer customPoints = request.getCustomPoints() != 0 ? request.getCustomPoints() : null;
+            String referenceId = !request.getReferenceId().isEmpty() ? request.getReferenceId() : null;
+
+            AddPointsResponse result = concurrencyRetry.execute("addPoints",
+                    () -> gamificationService.addPoints(userId, action, customPoints, referenceId));
+
+            responseObserver.onNext(AddPointsGrpcResponse.newBuilder()
+                    .setPointsAwarded(result.getPointsAwarded())
+                    .setTotalPoints(result.getTotalPoints())
+                    .setNewLevel(result.getNewLevel())
+                    .setLevelTitle(nullToEmpty(result.getLevelTitle()))
+                    .setLeveledUp(result.isLeveledUp())
+                    .setBadgeUnlocked(nullToEmpty(result.getBadgeUnlocked()))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(invalidArgument(e));
+        } catch (Exception e) {
+            log.error("Error adding points for {}: {}", request.getUserId(), e.getMessage());
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void getLeaderboard(GetLeaderboardRequest request, StreamObserver<LeaderboardResponse> responseObserver) {
+        try {
+            int limit = request.getLimit() > 0
+                    ? Math.min(request.getLimit(), MAX_LEADERBOARD_LIMIT)
+                    : DEFAULT_LEADERBOARD_LIMIT;
+            LeaderboardWindow window = LeaderboardWindow.fromValue(request.getWindow());
+
+            LeaderboardResponse.Builder response = LeaderboardResponse.newBuilder();
+            for (LeaderboardEntryDTO entry : gamificationService.getLeaderboard(window, limit)) {
+                response.addEntries(LeaderboardEntry.newBuilder()
+                        .setUserId(entry.getUserId())
+                        .setFirstName(nullToEmpty(entry.getFirstName()))
+                        .setLastName(nullToEmpty(entry.getLastName()))
+                        .setAvatarUrl(nullToEmpty(entry.getAvatarUrl()))
+                        .setTotalPoints(entry.getTotalPoints())
+                        .setLevel(entry.getLevel())
+                        .setLevelTitle(nullToEmpty(entry.getLevelTitle()))
+                        .setRank(entry.getRank())
+                        .build());
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(invalidArgument(e));
+        } catch (Exception e) {
+            log.error("Error getting leaderboard: {}", e.getMessage());
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void getUserInfo(GetUserInfoRequest request, StreamObserver<UserInfo> responseObserver) {
+        try {
+            GamificationSummaryDTO summary = summaryService
+                    .getSummaries(List.of(UUID.fromString(request.getUserId())))
+                    .get(0);
+
+            // Names and avatar are owned by user-profile-service and enriched by the caller
+            responseObserver.onNext(UserInfo.newBuilder()
+                    .setUserId(summary.getUserId())
+                    .setTotalPoints(summary.getTotalPoints())
+                    .setLevel(summary.getCurrentLevel())
+                    .setLevelTitle(summary.getLevelTitle())
+                    .build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(invalidArgument(e));
+        } catch (Exception e) {
+            log.error("Error getting user info for {}: {}", request.getUserId(), e.getMessage());
+            responseObserver.onError(e);
+        }
+    }
+
+    @Override
+    public void batchGetUserGamification(BatchGetUserGamificationRequest request,
+            StreamObserver<BatchGetUserGamificationResponse> responseObserver) {
+        try {
+            if (request.getUserIdsCount() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " user ids per request");
+            }
+
+            List<UUID> userIds = request.getUserIdsList().stream()
+                    .map(UUID::fromString)
+                    .toList();
+
+            BatchGetUserGamificationResponse.Builder response = BatchGetUserGamificationResponse.newBuilder();
+            for (GamificationSummaryDTO summary : summaryService.getSummaries(userIds)) {
+                response.addUsers(UserGamificationSummary.newBuilder()
+                        .setUserId(summary.getUserId())
+                        .setTotalPoints(summary.getTotalPoints())
+                        .setCurrentLevel(summary.getCurrentLevel())
+                        .setLevelTitle(summary.getLevelTitle())
+                        .addAllBadgeIds(summary.getBadgeIds())
+                        .build());
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+
+            log.debug("Batch get gamification: {} users requested", request.getUserIdsCount());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(invalidArgument(e));
+        } catch (Exception e) {
+            log.error("Error in batch get gamification: {}", e.getMessage());
+            responseObserver.onError(e);
+        }
+    }
+
+    private GamificationState toGamificationState(GamificationStateDTO state) {
+        GamificationState.Builder builder = GamificationState.newBuilder()
+                .setUserId(state.getUserId())
+                .setTotalPoints(state.getTotalPoints())
+                .setCurrentLevel(state.getCurrentLevel())
+                .setLevelTitle(nullToEmpty(state.getLevelTitle()))
+                .setProgressToNextLevel(state.getProgressToNextLevel())
+                .setLoginStreak(state.getLoginStreak())
+                .addAllBadgeIds(state.getUnlockedBadgeIds())
+                .setRank(state.getRank());
+
+        WeeklyStatsDTO weekly = state.getWeeklyStats();
+        if (weekly != null) {
+            builder.setWeeklyStats(WeeklyStats.newBuilder()
+                    .setPosts(weekly.getPosts())
+                    .setLikes(weekly.getLikes())
+                    .setComments(weekly.getComments())
+                    .setPurchases(weekly.getPurchases())
+                    .setDonations(weekly.getDonations())
+                    .setAiQuestions(weekly.getAiQuestions())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private static RuntimeException invalidArgument(IllegalArgumentException e) {
+        return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
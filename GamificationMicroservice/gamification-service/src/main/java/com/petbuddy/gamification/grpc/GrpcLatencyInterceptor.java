@@ -0,0 +1,47 @@
+package com.petbuddy.gamification.grpc;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per-RPC server latency as a histogram (gamification.grpc.server.latency),
+ * tagged by method and status code, so p50/p95/p99 can be derived per RPC.
+ */
+public class GrpcLatencyInterceptor implements ServerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public GrpcLatencyInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+            Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        long start = System.nanoTime();
+        String method = call.getMethodDescriptor().getBareMethodName();
+
+        ServerCall<ReqT, RespT> timedCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                Timer.builder("gamification.grpc.server.latency")
+                        .tag("method", method != null ? method : "unknown")
+                        .tag("status", status.getCode().name())
+                        .description("Gamification gRPC server call latency")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                super.close(status, trailers);
+            }
+        };
+        return next.startCall(timedCall, headers);
+    }
+}
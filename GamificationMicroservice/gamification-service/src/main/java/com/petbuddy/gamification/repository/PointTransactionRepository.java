@@ -3,8 +3,13 @@ package com.petbuddy.gamification.repository;
 import com.petbuddy.gamification.entity.PointTransaction;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +17,66 @@ import java.util.UUID;
 public interface PointTransactionRepository extends JpaRepository<PointTransaction, Long> {
 
     List<PointTransaction> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    /**
+     * Claim a ledger row for an award. The (user, referenceId) claim lives in
+     * point_award_claims since the partitioned ledger cannot carry a global unique index;
+     * awards without a referenceId are always recorded.
+     *
+     * @return 1 if recorded, 0 if this (user, referenceId) pair was already awarded
+     */
+    @Modifying
+    @Query(value = "WITH claim AS (" +
+            "INSERT INTO point_award_claims (user_id, reference_id, created_at) " +
+            "SELECT :userId, CAST(:referenceId AS varchar), :createdAt WHERE CAST(:referenceId AS varchar) IS NOT NULL " +
+            "ON CONFLICT (user_id, reference_id) DO NOTHING RETURNING 1) " +
+            "INSERT INTO point_transactions " +
+            "(user_id, action, points, points_before, points_after, reference_id, created_at) " +
+            "SELECT :userId, :action, :points, :pointsBefore, :pointsAfter, CAST(:referenceId AS varchar), :createdAt " +
+            "WHERE CAST(:referenceId AS varchar) IS NULL OR EXISTS (SELECT 1 FROM claim)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId,
+            @Param("action") String action,
+            @Param("points") int points,
+            @Param("pointsBefore") int pointsBefore,
+            @Param("pointsAfter") int pointsAfter,
+            @Param("referenceId") String referenceId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Top users by points earned in [from, to) - windowed leaderboard fallback
+     */
+    @Query("SELECT t.userId AS userId, CAST(SUM(t.points) AS Integer) AS totalPoints FROM PointTransaction t " +
+            "WHERE t.createdAt >= :from AND t.createdAt < :to " +
+            "GROUP BY t.userId ORDER BY SUM(t.points) DESC")
+    List<UserPointsView> findTopPointsBetween(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable limit);
+
+    /**
+     * Keyset page of points earned per user in [from, to), ordered by user id (windowed leaderboard seeding)
+     */
+    @Query("SELECT t.userId AS userId, CAST(SUM(t.points) AS Integer) AS totalPoints FROM PointTransaction t " +
+            "WHERE t.createdAt >= :from AND t.createdAt < :to AND t.userId > :afterId " +
+            "GROUP BY t.userId ORDER BY t.userId")
+    List<UserPointsView> findPointsBetweenAfter(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterId") UUID afterId,
+            Pageable limit);
+
+    /**
+     * Create the monthly ledger partitions from the current month up to monthsAhead months ahead
+     *
+     * @return number of partitions created
+     */
+    @Query(value = "SELECT ensure_point_transaction_partitions(:monthsAhead)", nativeQuery = true)
+    int ensurePartitions(@Param("monthsAhead") int monthsAhead);
+
+    /**
+     * Roll the oldest ledger partition ending on or before cutoff into point_transactions_archive
+     * and drop it
+     *
+     * @return archived month as YYYY-MM, or null if no partition is old enough
+     */
+    @Query(value = "SELECT archive_oldest_point_transaction_partition(CAST(:cutoff AS date))", nativeQuery = true)
+    String archiveOldestPartition(@Param("cutoff") LocalDate cutoff);
 }
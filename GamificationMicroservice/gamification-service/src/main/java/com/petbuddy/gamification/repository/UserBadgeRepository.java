@@ -4,6 +4,7 @@ import com.petbuddy.gamification.entity.UserBadge;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,8 @@ public interface UserBadgeRepository extends JpaRepository<UserBadge, Long> {
 
     List<UserBadge> findByUserId(UUID userId);
 
+    List<UserBadge> findByUserIdIn(Collection<UUID> userIds);
+
     Optional<UserBadge> findByUserIdAndBadgeId(UUID userId, String badgeId);
 
     boolean existsByUserIdAndBadgeId(UUID userId, String badgeId);
@@ -1,17 +1,46 @@
 package com.petbuddy.gamification.repository;
 
 import com.petbuddy.gamification.entity.UserGamification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserGamificationRepository extends JpaRepository<UserGamification, UUID> {
 
+    /**
+     * Load a user's state with a row lock (SELECT ... FOR UPDATE) so concurrent awards
+     * for the same user queue up instead of failing on the optimistic version check
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT g FROM UserGamification g WHERE g.userId = :userId")
+    Optional<UserGamification> findByIdForUpdate(@Param("userId") UUID userId);
+
+    /**
+     * Create a default state row unless one exists; safe against concurrent first events
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_gamification (user_id, week_start_date, created_at, updated_at, version) " +
+            "VALUES (:userId, :weekStart, :now, :now, 0) ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("now") LocalDateTime now);
+
     /**
      * Get leaderboard - top users by points
      */
@@ -23,4 +52,34 @@ public interface UserGamificationRepository extends JpaRepository<UserGamificati
      */
     @Query("SELECT COUNT(g) + 1 FROM UserGamification g WHERE g.totalPoints > :points")
     int findRankByPoints(int points);
+
+    /**
+     * Keyset page of user points ordered by user id (leaderboard rebuild)
+     */
+    @Query("SELECT g.userId AS userId, g.totalPoints AS totalPoints FROM UserGamification g " +
+            "WHERE g.userId > :afterId ORDER BY g.userId")
+    List<UserPointsView> findPointsAfter(@Param("afterId") UUID afterId, Pageable limit);
+
+    /**
+     * Keyset page of users whose weekly stats predate the given week (weekly reset)
+     */
+    @Query("SELECT g.userId FROM UserGamification g " +
+            "WHERE g.userId > :afterId AND (g.weekStartDate IS NULL OR g.weekStartDate < :weekStart) " +
+            "ORDER BY g.userId")
+    List<UUID> findStaleWeeklyStatsAfter(@Param("afterId") UUID afterId,
+            @Param("weekStart") LocalDate weekStart,
+            Pageable limit);
+
+    /**
+     * Bulk reset of weekly stats. The version is deliberately not bumped: a concurrent
+     * addPoints applies the same lazy reset, so its write stays correct and must not fail.
+     */
+    @Modifying
+    @Query("UPDATE UserGamification g SET g.weeklyPosts = 0, g.weeklyLikes = 0, g.weeklyComments = 0, " +
+            "g.weeklyPurchases = 0, g.weeklyDonations = 0, g.weeklyAiQuestions = 0, " +
+            "g.weekStartDate = :weekStart, g.updatedAt = :now " +
+            "WHERE g.userId IN :userIds AND (g.weekStartDate IS NULL OR g.weekStartDate < :weekStart)")
+    int resetWeeklyStats(@Param("userIds") Collection<UUID> userIds,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,13 @@
+package com.petbuddy.gamification.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of a user's points (all-time or within a window), used to (re)build the Redis leaderboards.
+ */
+public interface UserPointsView {
+
+    UUID getUserId();
+
+    int getTotalPoints();
+}
@@ -2,13 +2,27 @@ package com.petbuddy.gamification.scheduler;
 
 import com.petbuddy.gamification.entity.UserGamification;
 import com.petbuddy.gamification.repository.UserGamificationRepository;
+import com.petbuddy.gamification.service.GamificationService;
+import com.petbuddy.gamification.service.GamificationService.WeeklyResetBatch;
+import com.petbuddy.gamification.service.LeaderboardService;
+import com.petbuddy.gamification.service.LedgerMaintenanceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Scheduled tasks for gamification maintenance.
@@ -18,26 +32,89 @@ import java.util.List;
 @Slf4j
 public class GamificationScheduler {
 
+    private static final String LEADERBOARD_REBUILD_LOCK_KEY = "leaderboard-rebuild-lock";
+    private static final String WEEKLY_RESET_LOCK_KEY = "weekly-stats-reset-lock";
+    private static final String LEDGER_MAINTENANCE_LOCK_KEY = "ledger-maintenance-lock";
+    private static final long LOCK_TIMEOUT_SECONDS = 30;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
     private final UserGamificationRepository gamificationRepository;
+    private final GamificationService gamificationService;
+    private final LeaderboardService leaderboardService;
+    private final LedgerMaintenanceService ledgerMaintenanceService;
+    private final LockRegistry lockRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${gamification.weekly-reset.bulk-enabled:true}")
+    private boolean weeklyResetBulkEnabled;
+
+    @Value("${gamification.weekly-reset.batch-size:1000}")
+    private int weeklyResetBatchSize;
+
+    @Value("${gamification.ledger.partitions-ahead:3}")
+    private int ledgerPartitionsAhead;
+
+    @Value("${gamification.ledger.retention-months:12}")
+    private int ledgerRetentionMonths;
 
     /**
-     * Reset weekly stats every Monday at 00:00 UTC
+     * Reset weekly stats every Monday at 00:00 UTC.
+     * Stale rows are already treated as zero and reset on their next write; this sweep
+     * clears the rest with bulk UPDATEs in keyset batches, one transaction per batch.
      */
     @Scheduled(cron = "0 0 0 * * MON")
-    @Transactional
     public void resetWeeklyStats() {
-        log.info("Starting weekly stats reset...");
+        if (!weeklyResetBulkEnabled) {
+            log.info("Weekly stats bulk reset disabled - relying on lazy per-row reset");
+            return;
+        }
 
-        List<UserGamification> allUsers = gamificationRepository.findAll();
-        int count = 0;
+        Lock lock = lockRegistry.obtain(WEEKLY_RESET_LOCK_KEY);
+        long waitStart = System.nanoTime();
 
-        for (UserGamification user : allUsers) {
-            user.resetWeeklyStats();
-            count++;
-        }
+        try {
+            boolean acquired = lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Timer.builder("gamification.weekly.reset.lock.wait")
+                    .description("Time spent waiting for the weekly stats reset lock")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+
+            if (acquired) {
+                try {
+                    log.info("Starting weekly stats reset...");
+                    long start = System.nanoTime();
+
+                    LocalDate weekStart = UserGamification.getStartOfCurrentWeek();
+                    UUID cursor = MIN_UUID;
+                    long updated = 0;
+
+                    while (cursor != null) {
+                        WeeklyResetBatch batch = gamificationService.resetStaleWeeklyStats(
+                                weekStart, cursor, weeklyResetBatchSize);
+                        updated += batch.updated();
+                        cursor = batch.lastId();
+                    }
+
+                    Timer.builder("gamification.weekly.reset.duration")
+                            .description("Duration of a full weekly stats reset run")
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    Counter.builder("gamification.weekly.reset.rows")
+                            .description("Users whose weekly stats were reset by the bulk sweep")
+                            .register(meterRegistry)
+                            .increment(updated);
 
-        gamificationRepository.saveAll(allUsers);
-        log.info("Weekly stats reset completed for {} users", count);
+                    log.info("Weekly stats reset completed for {} users", updated);
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                log.warn("Could not acquire lock for weekly stats reset - another instance may be running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Weekly stats reset interrupted", e);
+        }
     }
 
     /**
@@ -48,4 +125,117 @@ public class GamificationScheduler {
         long totalUsers = gamificationRepository.count();
         log.info("[Daily Stats] Total gamification users: {}", totalUsers);
     }
+
+    /**
+     * Seed the leaderboard sorted sets on startup if Redis does not have them yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedLeaderboard() {
+        try {
+            withLeaderboardLock(() -> {
+                if (!leaderboardService.exists()) {
+                    leaderboardService.rebuild();
+                }
+                leaderboardService.seedWindows();
+            });
+        } catch (Exception e) {
+            log.warn("Leaderboard seed skipped, reads will fall back to the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the all-time leaderboard sorted set from Postgres every day at 04:00 UTC
+     * to correct any writes lost while Redis was unavailable
+     */
+    @Scheduled(cron = "${gamification.leaderboard.rebuild-cron:0 0 4 * * *}")
+    public void rebuildLeaderboard() {
+        withLeaderboardLock(leaderboardService::rebuild);
+    }
+
+    /**
+     * Rebuild the all-time leaderboard as soon as it goes missing (eviction, flush, failover).
+     * Live writes never recreate it, so until then reads are served from Postgres.
+     */
+    @Scheduled(fixedDelayString = "${gamification.leaderboard.restore-check-ms:60000}",
+            initialDelayString = "${gamification.leaderboard.restore-check-ms:60000}")
+    public void restoreLeaderboard() {
+        try {
+            if (leaderboardService.exists()) {
+                return;
+            }
+            withLeaderboardLock(() -> {
+                if (!leaderboardService.exists()) {
+                    log.info("All-time leaderboard missing from Redis, rebuilding");
+                    leaderboardService.rebuild();
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Leaderboard restore check failed, reads fall back to the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Make sure upcoming ledger partitions exist before the first award is written
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareLedgerPartitions() {
+        try {
+            ledgerMaintenanceService.ensurePartitions(ledgerPartitionsAhead);
+        } catch (Exception e) {
+            log.warn("Ledger partition check failed, will retry with the next maintenance run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Create upcoming ledger partitions and archive the months past retention, daily at 03:30 UTC
+     */
+    @Scheduled(cron = "${gamification.ledger.maintenance-cron:0 30 3 * * *}")
+    public void maintainLedger() {
+        Lock lock = lockRegistry.obtain(LEDGER_MAINTENANCE_LOCK_KEY);
+
+        try {
+            if (lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                try {
+                    ledgerMaintenanceService.ensurePartitions(ledgerPartitionsAhead);
+
+                    LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(ledgerRetentionMonths);
+                    int archived = 0;
+                    while (ledgerMaintenanceService.archiveOldestPartition(cutoff) != null) {
+                        archived++;
+                    }
+
+                    Counter.builder("gamification.ledger.partitions.archived")
+                            .description("Point ledger partitions moved to the archive table")
+                            .register(meterRegistry)
+                            .increment(archived);
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                log.warn("Could not acquire lock for ledger maintenance - another instance may be running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Ledger maintenance interrupted", e);
+        }
+    }
+
+    private void withLeaderboardLock(Runnable task) {
+        Lock lock = lockRegistry.obtain(LEADERBOARD_REBUILD_LOCK_KEY);
+
+        try {
+            if (lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                try {
+                    task.run();
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                log.warn("Could not acquire lock for leaderboard rebuild - another instance may be running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Leaderboard rebuild interrupted", e);
+        }
+    }
 }
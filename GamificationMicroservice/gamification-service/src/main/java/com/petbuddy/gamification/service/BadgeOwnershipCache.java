@@ -0,0 +1,97 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.entity.UserBadge;
+import com.petbuddy.gamification.enums.BadgeType;
+import com.petbuddy.gamification.repository.UserBadgeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Per-user bitmask of owned badges, cached in Redis so badge rule checks don't query Postgres.
+ *
+ * Cache Strategy:
+ * - badges:owned:{userId} - decimal bitmask (bit = BadgeType ordinal), TTL 24 hours
+ *
+ * Entries are dropped after a badge is awarded and reloaded on the next read. Badges are
+ * never revoked, so a stale entry can only under-report ownership; awardBadge still
+ * checks the database before inserting.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BadgeOwnershipCache {
+
+    private static final String KEY_PREFIX = "badges:owned:";
+    private static final Duration TTL = Duration.ofHours(24);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserBadgeRepository badgeRepository;
+
+    /**
+     * Bitmask of the badges a user owns
+     */
+    public long getOwnedBadges(UUID userId) {
+        String key = KEY_PREFIX + userId;
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return Long.parseLong(cached);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read owned badges for user {}: {}", userId, e.getMessage());
+            return loadOwnedBadges(userId);
+        }
+
+        long owned = loadOwnedBadges(userId);
+        try {
+            redisTemplate.opsForValue().set(key, Long.toString(owned), TTL);
+        } catch (Exception e) {
+            log.warn("Failed to cache owned badges for user {}: {}", userId, e.getMessage());
+        }
+        return owned;
+    }
+
+    /**
+     * Drop the cached bitmask once the awarding transaction commits
+     */
+    public void invalidate(UUID userId) {
+        Runnable evict = () -> {
+            try {
+                redisTemplate.delete(KEY_PREFIX + userId);
+            } catch (Exception e) {
+                // Stale entries only under-report ownership and expire with the TTL
+                log.warn("Failed to invalidate owned badges for user {}: {}", userId, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private long loadOwnedBadges(UUID userId) {
+        long owned = 0;
+        for (UserBadge badge : badgeRepository.findByUserId(userId)) {
+            try {
+                owned |= BadgeRuleEngine.bit(BadgeType.fromId(badge.getBadgeId()));
+            } catch (IllegalArgumentException e) {
+                // Badge no longer defined; it can't be evaluated by any rule
+            }
+        }
+        return owned;
+    }
+}
@@ -0,0 +1,93 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.config.GamificationProperties;
+import com.petbuddy.gamification.config.GamificationProperties.BadgeRule;
+import com.petbuddy.gamification.entity.UserGamification;
+import com.petbuddy.gamification.enums.BadgeMetric;
+import com.petbuddy.gamification.enums.BadgeType;
+import com.petbuddy.gamification.enums.PointAction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the badge rules from gamification.badges.
+ *
+ * Rules are compiled at startup into a per-PointAction dispatch table, so an action
+ * with no rules costs one array read. Owned badges are passed in as a bitmask
+ * (bit = BadgeType ordinal), so already-owned badges are skipped without I/O.
+ */
+@Component
+@Slf4j
+public class BadgeRuleEngine {
+
+    private static final CompiledRule[] NO_RULES = new CompiledRule[0];
+
+    private final CompiledRule[][] rulesByAction;
+
+    public BadgeRuleEngine(GamificationProperties properties) {
+        this.rulesByAction = compile(properties.getBadges());
+    }
+
+    /**
+     * Whether any rule is triggered by this action (lets callers skip loading owned badges)
+     */
+    public boolean hasRules(PointAction action) {
+        return rulesByAction[action.ordinal()].length > 0;
+    }
+
+    /**
+     * Badges newly earned by this action for a user in the given state
+     *
+     * @param ownedBadges bitmask of owned badges, see {@link #bit(BadgeType)}
+     */
+    public List<BadgeType> evaluate(PointAction action, UserGamification state, long ownedBadges) {
+        CompiledRule[] rules = rulesByAction[action.ordinal()];
+        if (rules.length == 0) {
+            return List.of();
+        }
+
+        List<BadgeType> earned = null;
+        for (CompiledRule rule : rules) {
+            if ((ownedBadges & bit(rule.badge())) == 0 && rule.metric().extract(state) >= rule.threshold()) {
+                if (earned == null) {
+                    earned = new ArrayList<>(rules.length);
+                }
+                earned.add(rule.badge());
+            }
+        }
+        return earned != null ? earned : List.of();
+    }
+
+    public static long bit(BadgeType badge) {
+        return 1L << badge.ordinal();
+    }
+
+    private static CompiledRule[][] compile(List<BadgeRule> rules) {
+        Map<PointAction, List<CompiledRule>> grouped = new EnumMap<>(PointAction.class);
+        for (BadgeRule rule : rules) {
+            if (rule.getAction() == null || rule.getBadge() == null) {
+                throw new IllegalStateException("gamification.badges rules need both badge and action: " + rule);
+            }
+            BadgeMetric metric = rule.getMetric() != null ? rule.getMetric() : BadgeMetric.NONE;
+            grouped.computeIfAbsent(rule.getAction(), action -> new ArrayList<>())
+                    .add(new CompiledRule(BadgeType.fromId(rule.getBadge()), metric, rule.getThreshold()));
+        }
+
+        CompiledRule[][] table = new CompiledRule[PointAction.values().length][];
+        for (PointAction action : PointAction.values()) {
+            List<CompiledRule> actionRules = grouped.get(action);
+            table[action.ordinal()] = actionRules != null ? actionRules.toArray(NO_RULES) : NO_RULES;
+        }
+
+        log.info("Compiled {} badge rules across {} actions", rules.size(), grouped.size());
+        return table;
+    }
+
+    private record CompiledRule(BadgeType badge, BadgeMetric metric, int threshold) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.petbuddy.gamification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a state-changing transaction that lost a concurrency race (optimistic version
+ * conflict, lock timeout or deadlock). Must wrap the @Transactional call from outside so
+ * that every attempt starts a fresh transaction.
+ *
+ * Writers for the same user are already serialized by a row lock, so conflicts should be
+ * rare; the counters make any regression visible.
+ */
+@Component
+@Slf4j
+public class ConcurrencyRetry {
+
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public ConcurrencyRetry(MeterRegistry meterRegistry,
+            @Value("${gamification.concurrency.max-attempts:3}") int maxAttempts,
+            @Value("${gamification.concurrency.backoff-ms:20}") long backoffMs) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.conflicts = Counter.builder("gamification.state.conflicts")
+                .description("Gamification state writes that failed on a concurrency conflict")
+                .register(meterRegistry);
+        this.retries = Counter.builder("gamification.state.retries")
+                .description("Gamification state writes retried after a concurrency conflict")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("gamification.state.retries.exhausted")
+                .description("Gamification state writes that still conflicted after all retries")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+
+                retries.increment();
+                log.debug("{} hit a concurrency conflict (attempt {}/{}), retrying: {}",
+                        operation, attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            // Linear backoff with jitter so colliding writers do not retry in lockstep
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
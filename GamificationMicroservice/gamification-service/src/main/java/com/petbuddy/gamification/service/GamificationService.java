@@ -1,23 +1,25 @@
 package com.petbuddy.gamification.service;
 
 import com.petbuddy.gamification.dto.*;
-import com.petbuddy.gamification.entity.PointTransaction;
 import com.petbuddy.gamification.entity.UserBadge;
 import com.petbuddy.gamification.entity.UserGamification;
 import com.petbuddy.gamification.enums.BadgeType;
+import com.petbuddy.gamification.enums.LeaderboardWindow;
 import com.petbuddy.gamification.enums.PointAction;
 import com.petbuddy.gamification.repository.PointTransactionRepository;
 import com.petbuddy.gamification.repository.UserBadgeRepository;
 import com.petbuddy.gamification.repository.UserGamificationRepository;
+import com.petbuddy.gamification.service.GamificationStateCache.StateSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,6 +33,11 @@ public class GamificationService {
     private final UserBadgeRepository badgeRepository;
     private final PointTransactionRepository transactionRepository;
     private final LevelCalculator levelCalculator;
+    private final LeaderboardService leaderboardService;
+    private final BadgeRuleEngine badgeRuleEngine;
+    private final BadgeOwnershipCache badgeOwnershipCache;
+    private final GamificationSummaryService summaryService;
+    private final GamificationStateCache stateCache;
 
     /**
      * Get or create gamification state for a user
@@ -51,142 +58,245 @@ public class GamificationService {
     }
 
     /**
-     * Get full gamification state for a user
+     * Get or create a user's state, row-locked for the rest of the transaction.
+     * Writers for the same user are serialized here instead of racing on @Version.
+     */
+    private UserGamification lockGamification(UUID userId) {
+        return gamificationRepository.findByIdForUpdate(userId)
+                .orElseGet(() -> {
+                    gamificationRepository.insertIfAbsent(
+                            userId, UserGamification.getStartOfCurrentWeek(), LocalDateTime.now());
+                    return gamificationRepository.findByIdForUpdate(userId).orElseThrow();
+                });
+    }
+
+    /**
+     * Get full gamification state for a user.
+     * Served from the Redis snapshot and the leaderboard sorted set; SQL only on a cache miss.
+     * Users without a state row get the default state (nothing is written on read).
      */
-    @Transactional(readOnly = true)
     public GamificationStateDTO getGamificationState(UUID userId) {
-        UserGamification state = getOrCreateGamification(userId);
-        List<String> badges = badgeRepository.findByUserId(userId)
-                .stream()
-                .map(UserBadge::getBadgeId)
-                .toList();
+        StateSnapshot state = stateCache.get(userId).orElseGet(() -> loadStateSnapshot(userId));
 
-        int rank = gamificationRepository.findRankByPoints(state.getTotalPoints());
-        LevelInfo levelInfo = levelCalculator.calculateLevelInfo(state.getTotalPoints());
+        int rank = leaderboardService.getRank(state.totalPoints());
+        LevelInfo levelInfo = levelCalculator.calculateLevelInfo(state.totalPoints());
 
         return GamificationStateDTO.builder()
                 .userId(userId.toString())
-                .totalPoints(state.getTotalPoints())
+                .totalPoints(state.totalPoints())
                 .currentLevel(levelInfo.level())
                 .levelTitle(levelInfo.title())
                 .progressToNextLevel(levelInfo.progress())
                 .pointsToNextLevel(levelInfo.pointsToNext())
-                .loginStreak(state.getLoginStreak())
-                .lastLoginDate(state.getLastLoginDate())
-                .unlockedBadgeIds(badges)
-                .weeklyStats(WeeklyStatsDTO.builder()
-                        .posts(state.getWeeklyPosts())
-                        .likes(state.getWeeklyLikes())
-                        .comments(state.getWeeklyComments())
-                        .purchases(state.getWeeklyPurchases())
-                        .donations(state.getWeeklyDonations())
-                        .aiQuestions(state.getWeeklyAiQuestions())
-                        .build())
+                .loginStreak(state.loginStreak())
+                .lastLoginDate(state.lastLoginDate())
+                .unlockedBadgeIds(state.badgeIds())
+                .weeklyStats(toWeeklyStats(state))
                 .rank(rank)
                 .build();
     }
 
+    private StateSnapshot loadStateSnapshot(UUID userId) {
+        List<String> badges = badgeRepository.findByUserId(userId)
+                .stream()
+                .map(UserBadge::getBadgeId)
+                .toList();
+
+        StateSnapshot snapshot = gamificationRepository.findById(userId)
+                .map(state -> StateSnapshot.of(state, badges))
+                .orElseGet(() -> StateSnapshot.empty(badges));
+        stateCache.put(userId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Weekly stats as of the current week; rows not yet reset for this week report zeros
+     */
+    private WeeklyStatsDTO toWeeklyStats(StateSnapshot state) {
+        if (state.isWeeklyStatsStale()) {
+            return WeeklyStatsDTO.builder().build();
+        }
+        return WeeklyStatsDTO.builder()
+                .posts(state.weeklyPosts())
+                .likes(state.weeklyLikes())
+                .comments(state.weeklyComments())
+                .purchases(state.weeklyPurchases())
+                .donations(state.weeklyDonations())
+                .aiQuestions(state.weeklyAiQuestions())
+                .build();
+    }
+
     /**
-     * Add points for an action
+     * Add points for an action.
+     * Idempotent per (userId, referenceId): a repeated referenceId awards nothing.
      */
     @Transactional
-    @CacheEvict(value = "leaderboard", allEntries = true)
     public AddPointsResponse addPoints(UUID userId, PointAction action, Integer customPoints, String referenceId) {
-        UserGamification state = getOrCreateGamification(userId);
-
-        int pointsToAdd = customPoints != null ? customPoints : action.getPoints();
-        int pointsBefore = state.getTotalPoints();
+        UserGamification state = lockGamification(userId);
         int previousLevel = state.getCurrentLevel();
 
-        // Update points
-        state.setTotalPoints(pointsBefore + pointsToAdd);
+        AwardOutcome outcome = applyAwards(state, List.of(new PointAward(action, customPoints, referenceId)));
+        if (outcome.awarded() == 0) {
+            log.info("User {} already awarded for {} ({}), skipping", userId, referenceId, action);
+            return toResponse(state, previousLevel, outcome);
+        }
 
-        // Update weekly stats based on action
-        updateWeeklyStats(state, action);
+        saveState(state, outcome.pointsAwarded());
 
-        // Recalculate level
-        LevelInfo newLevelInfo = levelCalculator.calculateLevelInfo(state.getTotalPoints());
-        state.setCurrentLevel(newLevelInfo.level());
-        state.setLevelTitle(newLevelInfo.title());
+        log.info("User {} earned {} points for {}. Total: {}",
+                userId, outcome.pointsAwarded(), action, state.getTotalPoints());
 
-        gamificationRepository.save(state);
+        return toResponse(state, previousLevel, outcome);
+    }
 
-        // Log transaction
-        PointTransaction transaction = PointTransaction.builder()
-                .userId(userId)
-                .action(action.name())
-                .points(pointsToAdd)
-                .pointsBefore(pointsBefore)
-                .pointsAfter(state.getTotalPoints())
-                .referenceId(referenceId)
-                .build();
-        transactionRepository.save(transaction);
+    /**
+     * Apply several awards for one user in a single transaction: one state read and one
+     * state write, with each award deduplicated by its referenceId.
+     */
+    @Transactional
+    public BatchAwardResult addPointsBatch(UUID userId, List<PointAward> awards) {
+        UserGamification state = lockGamification(userId);
 
-        boolean leveledUp = newLevelInfo.level() > previousLevel;
-        String badgeUnlocked = checkAndAwardBadges(userId, state, action);
+        AwardOutcome outcome = applyAwards(state, awards);
+        if (outcome.awarded() > 0) {
+            saveState(state, outcome.pointsAwarded());
 
-        log.info("User {} earned {} points for {}. Total: {}",
-                userId, pointsToAdd, action, state.getTotalPoints());
+            log.info("User {} earned {} points for {} actions. Total: {}",
+                    userId, outcome.pointsAwarded(), outcome.awarded(), state.getTotalPoints());
+        }
+
+        return new BatchAwardResult(outcome.awarded(), awards.size() - outcome.awarded());
+    }
+
+    public record PointAward(PointAction action, Integer customPoints, String referenceId) {
+    }
+
+    public record BatchAwardResult(int awarded, int duplicates) {
+    }
+
+    private record AwardOutcome(int awarded, int pointsAwarded, String badgeUnlocked) {
+        static final AwardOutcome NONE = new AwardOutcome(0, 0, null);
+    }
+
+    /**
+     * Apply awards to the locked in-memory state: claim each ledger row, update points and
+     * weekly stats, evaluate badge rules, then recalculate the level once
+     */
+    private AwardOutcome applyAwards(UserGamification state, List<PointAward> awards) {
+        int pointsBefore = state.getTotalPoints();
+        int awarded = 0;
+        String badgeUnlocked = null;
+
+        for (PointAward award : awards) {
+            int points = award.customPoints() != null ? award.customPoints() : award.action().getPoints();
+            if (applyAward(state, award.action(), points, award.referenceId())) {
+                awarded++;
+                String badge = checkAndAwardBadges(state.getUserId(), state, award.action());
+                if (badgeUnlocked == null) {
+                    badgeUnlocked = badge;
+                }
+            }
+        }
+
+        if (awarded == 0) {
+            return AwardOutcome.NONE;
+        }
+        updateLevel(state);
+        return new AwardOutcome(awarded, state.getTotalPoints() - pointsBefore, badgeUnlocked);
+    }
+
+    /**
+     * Claim the ledger row for an award, then apply it to the in-memory state.
+     *
+     * @return false if this (user, referenceId) was already awarded; state is left untouched
+     */
+    private boolean applyAward(UserGamification state, PointAction action, int points, String referenceId) {
+        int pointsBefore = state.getTotalPoints();
+        int inserted = transactionRepository.insertIfAbsent(
+                state.getUserId(),
+                action.name(),
+                points,
+                pointsBefore,
+                pointsBefore + points,
+                referenceId,
+                // UTC, like the leaderboard period keys and windows built from the ledger
+                LocalDateTime.now(ZoneOffset.UTC));
+        if (inserted == 0) {
+            return false;
+        }
+
+        state.setTotalPoints(pointsBefore + points);
+        updateWeeklyStats(state, action);
+        return true;
+    }
+
+    private LevelInfo updateLevel(UserGamification state) {
+        LevelInfo levelInfo = levelCalculator.calculateLevelInfo(state.getTotalPoints());
+        state.setCurrentLevel(levelInfo.level());
+        state.setLevelTitle(levelInfo.title());
+        return levelInfo;
+    }
 
+    /**
+     * Persist the state (one UPDATE at flush) and propagate it to the caches after commit
+     */
+    private void saveState(UserGamification state, int pointsAwarded) {
+        gamificationRepository.save(state);
+        stateCache.recordState(state);
+        if (pointsAwarded != 0) {
+            leaderboardService.recordPoints(state.getUserId(), state.getTotalPoints(), pointsAwarded);
+            summaryService.invalidate(state.getUserId());
+        }
+    }
+
+    private AddPointsResponse toResponse(UserGamification state, int previousLevel, AwardOutcome outcome) {
         return AddPointsResponse.builder()
-                .pointsAwarded(pointsToAdd)
+                .pointsAwarded(outcome.pointsAwarded())
                 .totalPoints(state.getTotalPoints())
                 .previousLevel(previousLevel)
-                .newLevel(newLevelInfo.level())
-                .levelTitle(newLevelInfo.title())
-                .leveledUp(leveledUp)
-                .badgeUnlocked(badgeUnlocked)
+                .newLevel(state.getCurrentLevel())
+                .levelTitle(state.getLevelTitle())
+                .leveledUp(state.getCurrentLevel() > previousLevel)
+                .badgeUnlocked(outcome.badgeUnlocked())
                 .build();
     }
 
     /**
-     * Update login streak
+     * Update login streak as a single state transition: one locked read, the streak change
+     * and its awards (daily login, streak bonus) applied in memory, one UPDATE at commit.
+     * The row lock makes the "already logged in today" check race-free.
      */
     @Transactional
     public AddPointsResponse updateLoginStreak(UUID userId) {
-        UserGamification state = getOrCreateGamification(userId);
+        UserGamification state = lockGamification(userId);
+        int previousLevel = state.getCurrentLevel();
         LocalDate today = LocalDate.now();
         LocalDate lastLogin = state.getLastLoginDate();
 
-        if (lastLogin != null && lastLogin.equals(today)) {
+        if (today.equals(lastLogin)) {
             // Already logged in today
-            return AddPointsResponse.builder()
-                    .pointsAwarded(0)
-                    .totalPoints(state.getTotalPoints())
-                    .previousLevel(state.getCurrentLevel())
-                    .newLevel(state.getCurrentLevel())
-                    .levelTitle(state.getLevelTitle())
-                    .leveledUp(false)
-                    .build();
-        }
-
-        // Calculate new streak
-        int newStreak;
-        if (lastLogin != null && lastLogin.equals(today.minusDays(1))) {
-            newStreak = state.getLoginStreak() + 1;
-        } else {
-            newStreak = 1; // Reset streak
+            return toResponse(state, previousLevel, AwardOutcome.NONE);
         }
 
+        // Continue the streak from yesterday, otherwise start over
+        int newStreak = today.minusDays(1).equals(lastLogin) ? state.getLoginStreak() + 1 : 1;
         state.setLoginStreak(newStreak);
         state.setLastLoginDate(today);
-        gamificationRepository.save(state);
-
-        // Award daily login points
-        AddPointsResponse response = addPoints(userId, PointAction.DAILY_LOGIN, null, null);
 
-        // Award streak bonus if >= 7 days
-        if (newStreak >= 7 && newStreak % 7 == 0) {
-            addPoints(userId, PointAction.STREAK_BONUS, null, "streak_" + newStreak);
+        // Daily login points (the streak master badge is a LOGIN_STREAK rule on DAILY_LOGIN)
+        List<PointAward> awards = new ArrayList<>(2);
+        awards.add(new PointAward(PointAction.DAILY_LOGIN, null, "login_" + today));
 
-            // Award streak master badge at first 7-day streak
-            if (newStreak == 7) {
-                awardBadge(userId, BadgeType.STREAK_MASTER.getId());
-            }
+        // Streak bonus every 7 days
+        if (newStreak % 7 == 0) {
+            awards.add(new PointAward(PointAction.STREAK_BONUS, null, "streak_" + newStreak + "_" + today));
         }
 
+        AwardOutcome outcome = applyAwards(state, awards);
+        saveState(state, outcome.pointsAwarded());
+
         log.info("User {} login streak: {}", userId, newStreak);
-        return response;
+        return toResponse(state, previousLevel, outcome);
     }
 
     /**
@@ -203,6 +313,9 @@ public class GamificationService {
                 .badgeId(badgeId)
                 .build();
         badgeRepository.save(badge);
+        badgeOwnershipCache.invalidate(userId);
+        stateCache.recordBadge(userId, badgeId);
+        summaryService.invalidate(userId);
 
         log.info("User {} awarded badge: {}", userId, badgeId);
         return true;
@@ -228,36 +341,39 @@ public class GamificationService {
     }
 
     /**
-     * Get leaderboard (cached)
+     * Get leaderboard for a time window (served from Redis sorted sets)
      */
-    @Cacheable(value = "leaderboard", key = "#limit")
-    @Transactional(readOnly = true)
-    public List<LeaderboardEntryDTO> getLeaderboard(int limit) {
-        List<UserGamification> topUsers = gamificationRepository
-                .findTopByOrderByTotalPointsDesc(PageRequest.of(0, limit));
-
-        return topUsers.stream()
-                .map(g -> LeaderboardEntryDTO.builder()
-                        .userId(g.getUserId().toString())
-                        // firstName, lastName, avatarUrl will be enriched via gRPC
-                        .totalPoints(g.getTotalPoints())
-                        .level(g.getCurrentLevel())
-                        .levelTitle(g.getLevelTitle())
-                        .rank(gamificationRepository.findRankByPoints(g.getTotalPoints()))
-                        .build())
-                .collect(Collectors.toList());
+    public List<LeaderboardEntryDTO> getLeaderboard(LeaderboardWindow window, int limit) {
+        return leaderboardService.getTopUsers(window, limit);
+    }
+
+    /**
+     * Reset one keyset batch of users whose weekly stats predate weekStart.
+     *
+     * @return rows updated and the last user id scanned (null once there are no more rows)
+     */
+    @Transactional
+    public WeeklyResetBatch resetStaleWeeklyStats(LocalDate weekStart, UUID afterId, int batchSize) {
+        List<UUID> userIds = gamificationRepository.findStaleWeeklyStatsAfter(
+                afterId, weekStart, PageRequest.of(0, batchSize));
+        if (userIds.isEmpty()) {
+            return new WeeklyResetBatch(0, null);
+        }
+
+        int updated = gamificationRepository.resetWeeklyStats(userIds, weekStart, LocalDateTime.now());
+        UUID lastId = userIds.size() < batchSize ? null : userIds.get(userIds.size() - 1);
+        return new WeeklyResetBatch(updated, lastId);
+    }
+
+    public record WeeklyResetBatch(int updated, UUID lastId) {
     }
 
     /**
      * Update weekly stats based on action
      */
     private void updateWeeklyStats(UserGamification state, PointAction action) {
-        // Check if week needs reset
-        LocalDate weekStart = state.getWeekStartDate();
-        LocalDate currentWeekStart = LocalDate.now().minusDays(
-                LocalDate.now().getDayOfWeek().getValue() - 1);
-
-        if (weekStart == null || weekStart.isBefore(currentWeekStart)) {
+        // Lazily reset stats left over from a previous week
+        if (state.isWeeklyStatsStale()) {
             state.resetWeeklyStats();
         }
 
@@ -274,47 +390,18 @@ public class GamificationService {
     }
 
     /**
-     * Check and award badges based on actions
+     * Check and award badges based on actions (rules from gamification.badges)
      */
     private String checkAndAwardBadges(UUID userId, UserGamification state, PointAction action) {
-        String awardedBadge = null;
+        if (!badgeRuleEngine.hasRules(action)) {
+            return null;
+        }
 
-        switch (action) {
-            case FIRST_PURCHASE -> {
-                if (awardBadge(userId, BadgeType.FIRST_PURCHASE.getId())) {
-                    awardedBadge = BadgeType.FIRST_PURCHASE.getId();
-                }
-            }
-            case PROJECT_BUDDY_DONATION -> {
-                if (awardBadge(userId, BadgeType.PROJECT_BUDDY_SUPPORTER.getId())) {
-                    awardedBadge = BadgeType.PROJECT_BUDDY_SUPPORTER.getId();
-                }
-            }
-            case ANIMAL_REPORT -> {
-                if (awardBadge(userId, BadgeType.RESCUE_REPORTER.getId())) {
-                    awardedBadge = BadgeType.RESCUE_REPORTER.getId();
-                }
-            }
-            case PET_PROFILE_COMPLETE -> {
-                if (awardBadge(userId, BadgeType.PET_PROFILE_COMPLETE.getId())) {
-                    awardedBadge = BadgeType.PET_PROFILE_COMPLETE.getId();
-                }
-            }
-            case COMMUNITY_POST -> {
-                if (state.getWeeklyPosts() >= 5) {
-                    if (awardBadge(userId, BadgeType.SOCIAL_BUTTERFLY.getId())) {
-                        awardedBadge = BadgeType.SOCIAL_BUTTERFLY.getId();
-                    }
-                }
-            }
-            case AI_QUESTION -> {
-                if (state.getWeeklyAiQuestions() >= 20) {
-                    if (awardBadge(userId, BadgeType.AI_ENTHUSIAST.getId())) {
-                        awardedBadge = BadgeType.AI_ENTHUSIAST.getId();
-                    }
-                }
-            }
-            default -> {
+        String awardedBadge = null;
+        long ownedBadges = badgeOwnershipCache.getOwnedBadges(userId);
+        for (BadgeType badge : badgeRuleEngine.evaluate(action, state, ownedBadges)) {
+            if (awardBadge(userId, badge.getId()) && awardedBadge == null) {
+                awardedBadge = badge.getId();
             }
         }
 
@@ -0,0 +1,257 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.entity.UserGamification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-user snapshot of gamification state in a Redis hash, so /me is served without SQL.
+ *
+ * Cache Strategy:
+ * - gamification:state:{userId} - HASH, TTL 30 minutes
+ *   v (entity version), p, ls, ll, ws, wp, wl, wc, wu, wd, wa (state fields),
+ *   b:{badgeId} per owned badge, bl (set once the full badge list has been loaded)
+ *
+ * Writers update the hash in place after commit. State fields are only applied when
+ * their version is newer than the cached one, so out-of-order commits cannot regress
+ * it. Badges are only ever added. Rank is not cached; it changes whenever anyone else
+ * scores and is read from the leaderboard sorted set instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GamificationStateCache {
+
+    private static final String KEY_PREFIX = "gamification:state:";
+    private static final String BADGE_FIELD_PREFIX = "b:";
+    private static final String BADGES_LOADED_FIELD = "bl";
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    /**
+     * ARGV[1] = version, ARGV[2] = ttl millis, ARGV[3..] = field/value pairs
+     */
+    private static final RedisScript<Long> WRITE_STATE = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'v')
+            if current and tonumber(current) >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'v', ARGV[1])
+            for i = 3, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * ARGV[1] = ttl millis, ARGV[2] = '1' if this is the complete badge list, ARGV[3..] = badge fields
+     */
+    private static final RedisScript<Long> ADD_BADGES = new DefaultRedisScript<>("""
+            for i = 3, #ARGV do
+                redis.call('HSET', KEYS[1], ARGV[i], '1')
+            end
+            if ARGV[2] == '1' then
+                redis.call('HSET', KEYS[1], 'bl', '1')
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Cached snapshot, or empty when missing or incomplete
+     */
+    public Optional<StateSnapshot> get(UUID userId) {
+        try {
+            Map<Object, Object> hash = redisTemplate.opsForHash().entries(key(userId));
+            if (!hash.containsKey("v") || !hash.containsKey(BADGES_LOADED_FIELD)) {
+                return Optional.empty();
+            }
+            return Optional.of(decode(hash));
+        } catch (Exception e) {
+            log.warn("Failed to read gamification state for user {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store a snapshot loaded from the database (state plus the complete badge list)
+     */
+    public void put(UUID userId, StateSnapshot snapshot) {
+        try {
+            writeState(userId, snapshot);
+            addBadges(userId, snapshot.badgeIds(), true);
+        } catch (Exception e) {
+            log.warn("Failed to cache gamification state for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a user's state to the snapshot once the surrounding transaction commits.
+     * Fields are read at commit time, after the version has been bumped by the flush.
+     */
+    public void recordState(UserGamification state) {
+        afterCommit(() -> writeState(state.getUserId(), StateSnapshot.of(state, List.of())));
+    }
+
+    /**
+     * Add an awarded badge to the snapshot once the surrounding transaction commits
+     */
+    public void recordBadge(UUID userId, String badgeId) {
+        afterCommit(() -> addBadges(userId, List.of(badgeId), false));
+    }
+
+    private void writeState(UUID userId, StateSnapshot snapshot) {
+        List<String> args = new ArrayList<>(24);
+        args.add(Long.toString(snapshot.version()));
+        args.add(Long.toString(TTL.toMillis()));
+        addField(args, "p", snapshot.totalPoints());
+        addField(args, "ls", snapshot.loginStreak());
+        addField(args, "ll", snapshot.lastLoginDate());
+        addField(args, "ws", snapshot.weekStartDate());
+        addField(args, "wp", snapshot.weeklyPosts());
+        addField(args, "wl", snapshot.weeklyLikes());
+        addField(args, "wc", snapshot.weeklyComments());
+        addField(args, "wu", snapshot.weeklyPurchases());
+        addField(args, "wd", snapshot.weeklyDonations());
+        addField(args, "wa", snapshot.weeklyAiQuestions());
+
+        redisTemplate.execute(WRITE_STATE, List.of(key(userId)), args.toArray());
+    }
+
+    private void addBadges(UUID userId, List<String> badgeIds, boolean complete) {
+        List<String> args = new ArrayList<>(badgeIds.size() + 2);
+        args.add(Long.toString(TTL.toMillis()));
+        args.add(complete ? "1" : "0");
+        for (String badgeId : badgeIds) {
+            args.add(BADGE_FIELD_PREFIX + badgeId);
+        }
+
+        redisTemplate.execute(ADD_BADGES, List.of(key(userId)), args.toArray());
+    }
+
+    private static void addField(List<String> args, String field, Object value) {
+        args.add(field);
+        args.add(value != null ? value.toString() : "");
+    }
+
+    private static StateSnapshot decode(Map<Object, Object> hash) {
+        List<String> badgeIds = new ArrayList<>();
+        for (Object field : hash.keySet()) {
+            String name = field.toString();
+            if (name.startsWith(BADGE_FIELD_PREFIX)) {
+                badgeIds.add(name.substring(BADGE_FIELD_PREFIX.length()));
+            }
+        }
+
+        return new StateSnapshot(
+                Long.parseLong(hash.get("v").toString()),
+                intField(hash, "p"),
+                intField(hash, "ls"),
+                dateField(hash, "ll"),
+                dateField(hash, "ws"),
+                intField(hash, "wp"),
+                intField(hash, "wl"),
+                intField(hash, "wc"),
+                intField(hash, "wu"),
+                intField(hash, "wd"),
+                intField(hash, "wa"),
+                badgeIds);
+    }
+
+    private static int intField(Map<Object, Object> hash, String field) {
+        Object value = hash.get(field);
+        return value != null ? Integer.parseInt(value.toString()) : 0;
+    }
+
+    private static LocalDate dateField(Map<Object, Object> hash, String field) {
+        Object value = hash.get(field);
+        return value != null && !value.toString().isEmpty() ? LocalDate.parse(value.toString()) : null;
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private void afterCommit(Runnable write) {
+        Runnable guarded = () -> {
+            try {
+                write.run();
+            } catch (Exception e) {
+                // Snapshot expires with the TTL; the next miss reloads it
+                log.warn("Failed to update cached gamification state: {}", e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    /**
+     * Cached view of a user's state. A version of -1 stands for a user with no state row yet.
+     */
+    public record StateSnapshot(
+            long version,
+            int totalPoints,
+            int loginStreak,
+            LocalDate lastLoginDate,
+            LocalDate weekStartDate,
+            int weeklyPosts,
+            int weeklyLikes,
+            int weeklyComments,
+            int weeklyPurchases,
+            int weeklyDonations,
+            int weeklyAiQuestions,
+            List<String> badgeIds) {
+
+        static StateSnapshot of(UserGamification state, List<String> badgeIds) {
+            return new StateSnapshot(
+                    state.getVersion() != null ? state.getVersion() : 0L,
+                    state.getTotalPoints(),
+                    state.getLoginStreak(),
+                    state.getLastLoginDate(),
+                    state.getWeekStartDate(),
+                    state.getWeeklyPosts(),
+                    state.getWeeklyLikes(),
+                    state.getWeeklyComments(),
+                    state.getWeeklyPurchases(),
+                    state.getWeeklyDonations(),
+                    state.getWeeklyAiQuestions(),
+                    badgeIds);
+        }
+
+        static StateSnapshot empty(List<String> badgeIds) {
+            return new StateSnapshot(-1L, 0, 0, null, null, 0, 0, 0, 0, 0, 0, badgeIds);
+        }
+
+        /**
+         * Weekly stats belong to an earlier week and must be reported as zero
+         */
+        public boolean isWeeklyStatsStale() {
+            return weekStartDate == null || weekStartDate.isBefore(UserGamification.getStartOfCurrentWeek());
+        }
+    }
+}
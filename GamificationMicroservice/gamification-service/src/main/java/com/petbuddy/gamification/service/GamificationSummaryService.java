@@ -0,0 +1,219 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.dto.GamificationSummaryDTO;
+import com.petbuddy.gamification.entity.UserBadge;
+import com.petbuddy.gamification.entity.UserGamification;
+import com.petbuddy.gamification.enums.BadgeType;
+import com.petbuddy.gamification.repository.UserBadgeRepository;
+import com.petbuddy.gamification.repository.UserGamificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Batched, Redis-cached gamification summaries for pages of users.
+ *
+ * Cache Strategy:
+ * - gamification:summary:{userId} - "{totalPoints}|{badgeBitmask}", TTL 10 minutes
+ * - gamification:summary:{userId}:version - random token replaced on every invalidation
+ *
+ * A page is served with one MGET (entries and versions together); misses are loaded with
+ * one query per table and written back in a single pipeline. Level and title are derived
+ * from points on read. Entries are dropped after any points or badge change commits, and
+ * a loaded value is only written back if the user's version is still the one read before
+ * the load, so a slow reader cannot re-cache a value from before the change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GamificationSummaryService {
+
+    private static final String KEY_PREFIX = "gamification:summary:";
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final String SEPARATOR = "|";
+    private static final String VERSION_SUFFIX = ":version";
+
+    /**
+     * KEYS[1] = version, KEYS[2] = summary. ARGV[1] = new version token, ARGV[2] = ttl millis
+     */
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return redis.call('DEL', KEYS[2])
+            """, Long.class);
+
+    /**
+     * KEYS[1] = summary, KEYS[2] = version. ARGV[1] = version read before the load ('' if none),
+     * ARGV[2] = value, ARGV[3] = ttl millis
+     */
+    private static final RedisScript<Long> SET_IF_UNCHANGED = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserGamificationRepository gamificationRepository;
+    private final UserBadgeRepository badgeRepository;
+    private final LevelCalculator levelCalculator;
+
+    /**
+     * Summaries in request order; users without gamification state get level 1 and no badges
+     */
+    public List<GamificationSummaryDTO> getSummaries(Collection<UUID> requestedIds) {
+        List<UUID> userIds = new ArrayList<>(new LinkedHashSet<>(requestedIds));
+        Map<UUID, String> encoded = new HashMap<>();
+
+        List<UUID> misses = new ArrayList<>();
+        Map<UUID, String> versions = new HashMap<>();
+        boolean cacheable = true;
+        try {
+            List<String> keys = new ArrayList<>(userIds.size() * 2);
+            userIds.forEach(id -> keys.add(key(id)));
+            userIds.forEach(id -> keys.add(versionKey(id)));
+            List<String> cached = redisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; i < userIds.size(); i++) {
+                String value = cached != null ? cached.get(i) : null;
+                if (value != null) {
+                    encoded.put(userIds.get(i), value);
+                } else {
+                    misses.add(userIds.get(i));
+                    String version = cached != null ? cached.get(userIds.size() + i) : null;
+                    versions.put(userIds.get(i), version != null ? version : "");
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read gamification summaries from Redis: {}", e.getMessage());
+            misses = userIds;
+            cacheable = false; // No versions to gate the write-back on
+        }
+
+        if (!misses.isEmpty()) {
+            Map<UUID, String> loaded = load(misses);
+            encoded.putAll(loaded);
+            if (cacheable) {
+                cache(loaded, versions);
+            }
+        }
+
+        return userIds.stream()
+                .map(id -> decode(id, encoded.get(id)))
+                .toList();
+    }
+
+    /**
+     * Drop a user's cached summary once the surrounding transaction commits
+     */
+    public void invalidate(UUID userId) {
+        Runnable evict = () -> {
+            try {
+                redisTemplate.execute(INVALIDATE, List.of(versionKey(userId), key(userId)),
+                        UUID.randomUUID().toString(), String.valueOf(TTL.toMillis()));
+            } catch (Exception e) {
+                // Expires with the TTL
+                log.warn("Failed to invalidate gamification summary for user {}: {}", userId, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private Map<UUID, String> load(List<UUID> userIds) {
+        Map<UUID, Integer> points = gamificationRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserGamification::getUserId, UserGamification::getTotalPoints));
+
+        Map<UUID, Long> badges = new HashMap<>();
+        for (UserBadge badge : badgeRepository.findByUserIdIn(userIds)) {
+            try {
+                badges.merge(badge.getUserId(), BadgeRuleEngine.bit(BadgeType.fromId(badge.getBadgeId())),
+                        (a, b) -> a | b);
+            } catch (IllegalArgumentException e) {
+                // Badge no longer defined
+            }
+        }
+
+        Map<UUID, String> loaded = new HashMap<>(userIds.size());
+        for (UUID userId : userIds) {
+            loaded.put(userId, points.getOrDefault(userId, 0) + SEPARATOR + badges.getOrDefault(userId, 0L));
+        }
+        return loaded;
+    }
+
+    /**
+     * Write loaded entries back, skipping users invalidated since their version was read
+     */
+    private void cache(Map<UUID, String> entries, Map<UUID, String> versions) {
+        String ttlMillis = String.valueOf(TTL.toMillis());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    entries.forEach((userId, value) -> ops.execute(SET_IF_UNCHANGED,
+                            List.of(key(userId), versionKey(userId)), versions.get(userId), value, ttlMillis));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to cache gamification summaries: {}", e.getMessage());
+        }
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String versionKey(UUID userId) {
+        return KEY_PREFIX + userId + VERSION_SUFFIX;
+    }
+
+    private GamificationSummaryDTO decode(UUID userId, String value) {
+        int separator = value.indexOf(SEPARATOR);
+        int totalPoints = Integer.parseInt(value.substring(0, separator));
+        long badgeMask = Long.parseLong(value.substring(separator + 1));
+
+        List<String> badgeIds = new ArrayList<>();
+        for (BadgeType badge : BadgeType.values()) {
+            if ((badgeMask & BadgeRuleEngine.bit(badge)) != 0) {
+                badgeIds.add(badge.getId());
+            }
+        }
+
+        LevelInfo levelInfo = levelCalculator.calculateLevelInfo(totalPoints);
+        return GamificationSummaryDTO.builder()
+                .userId(userId.toString())
+                .totalPoints(totalPoints)
+                .currentLevel(levelInfo.level())
+                .levelTitle(levelInfo.title())
+                .badgeIds(badgeIds)
+                .build();
+    }
+}
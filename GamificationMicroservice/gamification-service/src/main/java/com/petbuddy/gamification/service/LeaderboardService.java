@@ -0,0 +1,517 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.dto.LeaderboardEntryDTO;
+import com.petbuddy.gamification.entity.UserGamification;
+import com.petbuddy.gamification.enums.LeaderboardWindow;
+import com.petbuddy.gamification.repository.PointTransactionRepository;
+import com.petbuddy.gamification.repository.UserGamificationRepository;
+import com.petbuddy.gamification.repository.UserPointsView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leaderboards backed by Redis sorted sets.
+ *
+ * Cache Strategy:
+ * - leaderboard:all-time - ZSET member=userId, score=totalPoints
+ * - leaderboard:daily:{yyyy-MM-dd} - points earned that day (kept 8 days)
+ * - leaderboard:weekly:{yyyy-'W'ww} - points earned that ISO week (kept 14 days)
+ * - leaderboard:monthly:{yyyy-MM} - points earned that month (kept 62 days)
+ * - leaderboard:last-7-days:{yyyy-MM-dd} - ZUNIONSTORE of the last 7 daily sets (kept 60 seconds)
+ *
+ * All-time scores are written as absolute totals (ZADD GT) after the awarding transaction
+ * commits, so rollbacks and redelivered events can never inflate a score and totals only
+ * ever move up. They are only written while the all-time set exists: a set that was evicted
+ * or lost is not recreated with just the users who scored since, reads fall back to Postgres
+ * and the scheduler rebuilds it. While a rebuild is running (leaderboard:all-time:rebuilding
+ * is set) live writes also go to the staging set, so none are lost when it is swapped in.
+ *
+ * Period sets are incremented (ZINCRBY) after commit and expire on their own once the period
+ * is over. Ranks use competition ranking (ties share a rank), matching the previous
+ * COUNT(total_points > ?) + 1 query. Postgres remains the source of truth and is used
+ * whenever Redis is unavailable or the all-time set is missing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService {
+
+    static final String ALL_TIME_KEY = "leaderboard:all-time";
+    private static final String REBUILD_KEY = ALL_TIME_KEY + ":rebuild";
+    private static final String REBUILDING_KEY = ALL_TIME_KEY + ":rebuilding";
+    private static final String DAILY_KEY_PREFIX = "leaderboard:daily:";
+    private static final String WEEKLY_KEY_PREFIX = "leaderboard:weekly:";
+    private static final String MONTHLY_KEY_PREFIX = "leaderboard:monthly:";
+    private static final String LAST_7_DAYS_KEY_PREFIX = "leaderboard:last-7-days:";
+
+    private static final int ROLLING_DAYS = 7;
+    private static final Duration DAILY_RETENTION = Duration.ofDays(ROLLING_DAYS + 1);
+    private static final Duration WEEKLY_RETENTION = Duration.ofDays(14);
+    private static final Duration MONTHLY_RETENTION = Duration.ofDays(62);
+    private static final Duration ROLLING_UNION_TTL = Duration.ofSeconds(60);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Refreshed on every batch; only bounds how long a crashed rebuild keeps live writes dual-writing
+    private static final Duration REBUILDING_TTL = Duration.ofMinutes(5);
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    /**
+     * KEYS[1] = all-time set, KEYS[2] = staging set, KEYS[3] = rebuilding marker.
+     * ARGV[1] = total, ARGV[2] = member
+     */
+    private static final RedisScript<Long> WRITE_TOTAL = new DefaultRedisScript<>("""
+            local written = 0
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('ZADD', KEYS[1], 'GT', ARGV[1], ARGV[2])
+                written = 1
+            end
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                redis.call('ZADD', KEYS[2], 'GT', ARGV[1], ARGV[2])
+                written = 1
+            end
+            return written
+            """, Long.class);
+
+    /**
+     * ARGV[1..] = score/member pairs
+     */
+    private static final RedisScript<Long> ADD_BATCH = new DefaultRedisScript<>("""
+            return redis.call('ZADD', KEYS[1], 'GT', unpack(ARGV))
+            """, Long.class);
+
+    /**
+     * KEYS[1] = all-time set, ARGV[1] = minimum score. -1 when the set is missing.
+     */
+    private static final RedisScript<Long> COUNT_FROM = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -1
+            end
+            return redis.call('ZCOUNT', KEYS[1], ARGV[1], '+inf')
+            """, Long.class);
+
+    /**
+     * KEYS[1] = staging set, KEYS[2] = all-time set, KEYS[3] = rebuilding marker.
+     * Swaps in the staging set (or drops the all-time set if there is nothing to swap in)
+     * and ends dual-writing in the same step, so no live write falls between the two.
+     */
+    private static final RedisScript<Long> SWAP_REBUILD = new DefaultRedisScript<>("""
+            local swapped = 0
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('RENAME', KEYS[1], KEYS[2])
+                swapped = 1
+            else
+                redis.call('DEL', KEYS[2])
+            end
+            redis.call('DEL', KEYS[3])
+            return swapped
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserGamificationRepository gamificationRepository;
+    private final PointTransactionRepository transactionRepository;
+    private final LevelCalculator levelCalculator;
+
+    private final Clock clock = Clock.systemUTC();
+
+    // ============================================
+    // Writes
+    // ============================================
+
+    /**
+     * Record a user's new total and the points just awarded once the surrounding transaction commits
+     */
+    public void recordPoints(UUID userId, int totalPoints, int pointsAwarded) {
+        Runnable update = () -> {
+            try {
+                writePoints(userId.toString(), totalPoints, pointsAwarded);
+            } catch (Exception e) {
+                // All-time is corrected by the next rebuild; period sets stay short until they roll over
+                log.warn("Failed to update leaderboards for user {}: {}", userId, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void writePoints(String member, int totalPoints, int pointsAwarded) {
+        LocalDate today = LocalDate.now(clock);
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.execute(WRITE_TOTAL, List.of(ALL_TIME_KEY, REBUILD_KEY, REBUILDING_KEY),
+                        String.valueOf(totalPoints), member);
+
+                if (pointsAwarded != 0) {
+                    incrementPeriod(ops, dailyKey(today), member, pointsAwarded, DAILY_RETENTION);
+                    incrementPeriod(ops, weeklyKey(today), member, pointsAwarded, WEEKLY_RETENTION);
+                    incrementPeriod(ops, monthlyKey(today), member, pointsAwarded, MONTHLY_RETENTION);
+                }
+                return null;
+            }
+        });
+    }
+
+    private static void incrementPeriod(RedisOperations<String, String> ops, String key, String member,
+            int points, Duration retention) {
+        ops.opsForZSet().incrementScore(key, member, points);
+        ops.expire(key, retention);
+    }
+
+    // ============================================
+    // Reads
+    // ============================================
+
+    /**
+     * Top users by all-time points (ZREVRANGE)
+     */
+    public List<LeaderboardEntryDTO> getTopUsers(int limit) {
+        try {
+            // Empty only when the set is missing; it always holds every user with points otherwise
+            Set<TypedTuple<String>> top = redisTemplate.opsForZSet()
+                    .reverseRangeWithScores(ALL_TIME_KEY, 0, limit - 1);
+            if (top != null && !top.isEmpty()) {
+                return toEntries(top);
+            }
+        } catch (Exception e) {
+            log.warn("Leaderboard read from Redis failed, using database: {}", e.getMessage());
+        }
+
+        return getTopUsersFromDatabase(limit);
+    }
+
+    /**
+     * Top users by points earned within the given window.
+     * Entry totalPoints is the window score; level and title reflect lifetime points.
+     */
+    public List<LeaderboardEntryDTO> getTopUsers(LeaderboardWindow window, int limit) {
+        if (window == LeaderboardWindow.ALL_TIME) {
+            return getTopUsers(limit);
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        try {
+            String key = window == LeaderboardWindow.LAST_7_DAYS ? lastSevenDaysKey(today) : periodKey(window, today);
+            Set<TypedTuple<String>> top = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+            if (top != null) {
+                List<String> userIds = new ArrayList<>(top.size());
+                List<Integer> points = new ArrayList<>(top.size());
+                for (TypedTuple<String> tuple : top) {
+                    userIds.add(tuple.getValue());
+                    points.add(tuple.getScore() != null ? tuple.getScore().intValue() : 0);
+                }
+                return toWindowEntries(userIds, points);
+            }
+        } catch (Exception e) {
+            log.warn("{} leaderboard read from Redis failed, using database: {}", window.getValue(), e.getMessage());
+        }
+
+        return getWindowTopUsersFromDatabase(window, today, limit);
+    }
+
+    /**
+     * 1-indexed rank of a user with the given points: users with strictly more points + 1
+     */
+    public int getRank(int totalPoints) {
+        try {
+            Long above = redisTemplate.execute(COUNT_FROM, List.of(ALL_TIME_KEY), String.valueOf(totalPoints + 1));
+            if (above != null && above >= 0) {
+                return above.intValue() + 1;
+            }
+        } catch (Exception e) {
+            log.warn("Leaderboard rank from Redis failed, using database: {}", e.getMessage());
+        }
+
+        return gamificationRepository.findRankByPoints(totalPoints);
+    }
+
+    /**
+     * Union the last 7 daily sets into a short-lived key, reusing it while it is still fresh
+     */
+    private String lastSevenDaysKey(LocalDate today) {
+        String destination = LAST_7_DAYS_KEY_PREFIX + today;
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(destination))) {
+            return destination;
+        }
+
+        List<String> previousDays = new ArrayList<>(ROLLING_DAYS - 1);
+        for (int i = 1; i < ROLLING_DAYS; i++) {
+            previousDays.add(dailyKey(today.minusDays(i)));
+        }
+        redisTemplate.opsForZSet().unionAndStore(dailyKey(today), previousDays, destination);
+        redisTemplate.expire(destination, ROLLING_UNION_TTL);
+        return destination;
+    }
+
+    private List<LeaderboardEntryDTO> toEntries(Set<TypedTuple<String>> top) {
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(top.size());
+        int position = 0;
+        int rank = 0;
+        int previousPoints = Integer.MIN_VALUE;
+
+        for (TypedTuple<String> tuple : top) {
+            position++;
+            int points = tuple.getScore() != null ? tuple.getScore().intValue() : 0;
+            if (points != previousPoints) {
+                rank = position;
+                previousPoints = points;
+            }
+
+            LevelInfo levelInfo = levelCalculator.calculateLevelInfo(points);
+            entries.add(LeaderboardEntryDTO.builder()
+                    .userId(tuple.getValue())
+                    // firstName, lastName, avatarUrl will be enriched via gRPC
+                    .totalPoints(points)
+                    .level(levelInfo.level())
+                    .levelTitle(levelInfo.title())
+                    .rank(rank)
+                    .build());
+        }
+        return entries;
+    }
+
+    /**
+     * Build ranked entries for a window, looking up lifetime points for levels in one query
+     */
+    private List<LeaderboardEntryDTO> toWindowEntries(List<String> userIds, List<Integer> points) {
+        Map<String, Integer> lifetimePoints = gamificationRepository
+                .findAllById(userIds.stream().map(UUID::fromString).toList())
+                .stream()
+                .collect(Collectors.toMap(g -> g.getUserId().toString(), UserGamification::getTotalPoints));
+
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(userIds.size());
+        int rank = 0;
+        int previousPoints = Integer.MIN_VALUE;
+
+        for (int i = 0; i < userIds.size(); i++) {
+            int windowPoints = points.get(i);
+            if (windowPoints != previousPoints) {
+                rank = i + 1;
+                previousPoints = windowPoints;
+            }
+
+            LevelInfo levelInfo = levelCalculator.calculateLevelInfo(
+                    lifetimePoints.getOrDefault(userIds.get(i), windowPoints));
+            entries.add(LeaderboardEntryDTO.builder()
+                    .userId(userIds.get(i))
+                    // firstName, lastName, avatarUrl will be enriched via gRPC
+                    .totalPoints(windowPoints)
+                    .level(levelInfo.level())
+                    .levelTitle(levelInfo.title())
+                    .rank(rank)
+                    .build());
+        }
+        return entries;
+    }
+
+    private List<LeaderboardEntryDTO> getTopUsersFromDatabase(int limit) {
+        List<UserGamification> topUsers = gamificationRepository
+                .findTopByOrderByTotalPointsDesc(PageRequest.of(0, limit));
+
+        return topUsers.stream()
+                .map(g -> LeaderboardEntryDTO.builder()
+                        .userId(g.getUserId().toString())
+                        .totalPoints(g.getTotalPoints())
+                        .level(g.getCurrentLevel())
+                        .levelTitle(g.getLevelTitle())
+                        .rank(gamificationRepository.findRankByPoints(g.getTotalPoints()))
+                        .build())
+                .toList();
+    }
+
+    private List<LeaderboardEntryDTO> getWindowTopUsersFromDatabase(LeaderboardWindow window, LocalDate today,
+            int limit) {
+        List<UserPointsView> top = transactionRepository.findTopPointsBetween(
+                windowStart(window, today).atStartOfDay(),
+                today.plusDays(1).atStartOfDay(),
+                PageRequest.of(0, limit));
+
+        return toWindowEntries(
+                top.stream().map(row -> row.getUserId().toString()).toList(),
+                top.stream().map(UserPointsView::getTotalPoints).toList());
+    }
+
+    // ============================================
+    // Period keys
+    // ============================================
+
+    private static String periodKey(LeaderboardWindow window, LocalDate date) {
+        return switch (window) {
+            case DAILY -> dailyKey(date);
+            case WEEKLY -> weeklyKey(date);
+            case MONTHLY -> monthlyKey(date);
+            default -> throw new IllegalArgumentException("No single period key for window " + window);
+        };
+    }
+
+    private static String dailyKey(LocalDate date) {
+        return DAILY_KEY_PREFIX + date;
+    }
+
+    private static String weeklyKey(LocalDate date) {
+        return WEEKLY_KEY_PREFIX + date.get(IsoFields.WEEK_BASED_YEAR)
+                + String.format("-W%02d", date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    private static String monthlyKey(LocalDate date) {
+        return MONTHLY_KEY_PREFIX + String.format("%d-%02d", date.getYear(), date.getMonthValue());
+    }
+
+    /**
+     * First day (inclusive) covered by a window ending today
+     */
+    private static LocalDate windowStart(LeaderboardWindow window, LocalDate today) {
+        return switch (window) {
+            case DAILY -> today;
+            case WEEKLY -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> today.withDayOfMonth(1);
+            case LAST_7_DAYS -> today.minusDays(ROLLING_DAYS - 1);
+            case ALL_TIME -> throw new IllegalArgumentException("All-time leaderboard has no window start");
+        };
+    }
+
+    // ============================================
+    // Rebuild
+    // ============================================
+
+    public boolean exists() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(ALL_TIME_KEY));
+    }
+
+    /**
+     * Rebuild the all-time sorted set from Postgres in keyset batches into a staging key,
+     * then atomically swap it in with RENAME. Live writes made meanwhile are applied to the
+     * staging key as well (ZADD GT on both sides, so neither a batch nor a live write can
+     * lower the other's total).
+     *
+     * @return number of users loaded
+     */
+    public long rebuild() {
+        redisTemplate.delete(REBUILD_KEY);
+        redisTemplate.opsForValue().set(REBUILDING_KEY, "1", REBUILDING_TTL);
+
+        long loaded;
+        try {
+            loaded = load(REBUILD_KEY, cursor -> {
+                redisTemplate.expire(REBUILDING_KEY, REBUILDING_TTL);
+                return gamificationRepository.findPointsAfter(cursor, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            });
+        } catch (RuntimeException e) {
+            redisTemplate.delete(List.of(REBUILDING_KEY, REBUILD_KEY));
+            throw e;
+        }
+
+        redisTemplate.execute(SWAP_REBUILD, List.of(REBUILD_KEY, ALL_TIME_KEY, REBUILDING_KEY));
+
+        log.info("Leaderboard rebuilt from database: {} users", loaded);
+        return loaded;
+    }
+
+    /**
+     * Backfill any missing period sets (the last 7 days, this week, this month) from point_transactions.
+     * Uses RENAMENX so a set already created by live writes is never overwritten.
+     */
+    public void seedWindows() {
+        LocalDate today = LocalDate.now(clock);
+
+        for (int i = 0; i < ROLLING_DAYS; i++) {
+            LocalDate day = today.minusDays(i);
+            seedPeriod(dailyKey(day), day, day.plusDays(1), DAILY_RETENTION);
+        }
+
+        LocalDate weekStart = windowStart(LeaderboardWindow.WEEKLY, today);
+        seedPeriod(weeklyKey(today), weekStart, weekStart.plusWeeks(1), WEEKLY_RETENTION);
+
+        LocalDate monthStart = windowStart(LeaderboardWindow.MONTHLY, today);
+        seedPeriod(monthlyKey(today), monthStart, monthStart.plusMonths(1), MONTHLY_RETENTION);
+    }
+
+    private void seedPeriod(String key, LocalDate from, LocalDate to, Duration retention) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return;
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+        String stagingKey = key + ":rebuild";
+        redisTemplate.delete(stagingKey);
+        long loaded = load(stagingKey, cursor -> transactionRepository.findPointsBetweenAfter(
+                start, end, cursor, PageRequest.of(0, REBUILD_BATCH_SIZE)));
+
+        if (loaded == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(redisTemplate.renameIfAbsent(stagingKey, key))) {
+            redisTemplate.expire(key, retention);
+            log.info("Seeded {} from database: {} users", key, loaded);
+        } else {
+            redisTemplate.delete(stagingKey);
+        }
+    }
+
+    /**
+     * Load keyset batches of user points into a sorted set, keeping the higher score
+     * for members that are already present
+     *
+     * @return number of users loaded
+     */
+    private long load(String key, Function<UUID, List<UserPointsView>> nextBatch) {
+        UUID cursor = MIN_UUID;
+        long loaded = 0;
+
+        while (true) {
+            List<UserPointsView> batch = nextBatch.apply(cursor);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Object[] args = new Object[batch.size() * 2];
+            int i = 0;
+            for (UserPointsView row : batch) {
+                args[i++] = String.valueOf(row.getTotalPoints());
+                args[i++] = row.getUserId().toString();
+            }
+            redisTemplate.execute(ADD_BATCH, List.of(key), args);
+
+            loaded += batch.size();
+            cursor = batch.get(batch.size() - 1).getUserId();
+        }
+        return loaded;
+    }
+}
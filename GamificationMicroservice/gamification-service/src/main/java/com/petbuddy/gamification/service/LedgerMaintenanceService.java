@@ -0,0 +1,49 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.repository.PointTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Maintenance of the monthly-partitioned point ledger.
+ *
+ * - Partitions are created a few months ahead, so inserts never hit a missing range.
+ * - Partitions older than the retention window are rolled into point_transactions_archive
+ *   (one compressed JSONB row per user and month) and dropped, one partition per transaction.
+ *
+ * Award claims (point_award_claims) are kept, so idempotency outlives the archived rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerMaintenanceService {
+
+    private final PointTransactionRepository transactionRepository;
+
+    @Transactional
+    public int ensurePartitions(int monthsAhead) {
+        int created = transactionRepository.ensurePartitions(monthsAhead);
+        if (created > 0) {
+            log.info("Created {} point ledger partitions", created);
+        }
+        return created;
+    }
+
+    /**
+     * Archive the oldest partition that ends on or before cutoff
+     *
+     * @return archived month as YYYY-MM, or null if nothing is left to archive
+     */
+    @Transactional
+    public String archiveOldestPartition(LocalDate cutoff) {
+        String month = transactionRepository.archiveOldestPartition(cutoff);
+        if (month != null) {
+            log.info("Archived point ledger partition {}", month);
+        }
+        return month;
+    }
+}
@@ -1,15 +1,24 @@
 package com.petbuddy.gamification.service;
 
+import com.petbuddy.gamification.config.GamificationProperties;
+import com.petbuddy.gamification.config.GamificationProperties.LevelDefinition;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * Calculates user levels based on points.
- * Matches the frontend level configuration.
+ *
+ * Levels come from gamification.levels (matching the frontend configuration) and are
+ * compiled at startup into a points -> level lookup table, so resolving a level is a
+ * single array read. The top level is open-ended.
  */
 @Component
 public class LevelCalculator {
 
-    private static final LevelInfo[] LEVELS = {
+    private static final LevelInfo[] DEFAULT_LEVELS = {
             new LevelInfo(1, "Pet Newbie", 0, 99),
             new LevelInfo(2, "Pet Lover", 100, 299),
             new LevelInfo(3, "Pet Expert", 300, 599),
@@ -18,21 +27,26 @@ public class LevelCalculator {
             new LevelInfo(6, "Pet Legend", 2000, Integer.MAX_VALUE)
     };
 
+    // Above this the table would waste memory; fall back to binary search
+    private static final int MAX_TABLE_SIZE = 1 << 20;
+
+    private final LevelInfo[] levels;
+    private final int[] minPoints;
+    private final byte[] levelIndexByPoints;
+
+    public LevelCalculator(GamificationProperties properties) {
+        this.levels = compileLevels(properties.getLevels());
+        this.minPoints = Arrays.stream(levels).mapToInt(LevelInfo::minPoints).toArray();
+        this.levelIndexByPoints = buildLookupTable(levels);
+    }
+
     /**
      * Calculate complete level info for given points
      */
     public LevelInfo calculateLevelInfo(int points) {
-        LevelInfo currentLevel = LEVELS[0];
-        LevelInfo nextLevel = LEVELS.length > 1 ? LEVELS[1] : null;
-
-        for (int i = 0; i < LEVELS.length; i++) {
-            LevelInfo level = LEVELS[i];
-            if (points >= level.minPoints() && points <= level.maxPoints()) {
-                currentLevel = level;
-                nextLevel = (i + 1 < LEVELS.length) ? LEVELS[i + 1] : null;
-                break;
-            }
-        }
+        int index = levelIndex(points);
+        LevelInfo currentLevel = levels[index];
+        LevelInfo nextLevel = index + 1 < levels.length ? levels[index + 1] : null;
 
         int progress;
         int pointsToNext;
@@ -60,24 +74,78 @@ public class LevelCalculator {
      * Get level for given points (simple lookup)
      */
     public int getLevel(int points) {
-        for (LevelInfo level : LEVELS) {
-            if (points >= level.minPoints() && points <= level.maxPoints()) {
-                return level.level();
-            }
-        }
-        return 1;
+        return levels[levelIndex(points)].level();
     }
 
     /**
      * Get level title for given points
      */
     public String getLevelTitle(int points) {
-        for (LevelInfo level : LEVELS) {
-            if (points >= level.minPoints() && points <= level.maxPoints()) {
-                return level.title();
+        return levels[levelIndex(points)].title();
+    }
+
+    private int levelIndex(int points) {
+        if (points <= 0) {
+            return 0;
+        }
+        if (points < levelIndexByPoints.length) {
+            return levelIndexByPoints[points];
+        }
+        if (points >= minPoints[minPoints.length - 1]) {
+            return levels.length - 1;
+        }
+
+        int found = Arrays.binarySearch(minPoints, points);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private static LevelInfo[] compileLevels(List<LevelDefinition> definitions) {
+        if (definitions == null || definitions.isEmpty()) {
+            return DEFAULT_LEVELS;
+        }
+
+        List<LevelDefinition> sorted = definitions.stream()
+                .sorted(Comparator.comparingInt(LevelDefinition::getMinPoints))
+                .toList();
+        if (sorted.get(0).getMinPoints() != 0) {
+            throw new IllegalStateException("gamification.levels must start at 0 points");
+        }
+
+        LevelInfo[] compiled = new LevelInfo[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            LevelDefinition definition = sorted.get(i);
+            boolean last = i == sorted.size() - 1;
+            if (!last && definition.getMaxPoints() + 1 != sorted.get(i + 1).getMinPoints()) {
+                throw new IllegalStateException("gamification.levels must be contiguous, gap after level "
+                        + definition.getLevel());
+            }
+            compiled[i] = new LevelInfo(
+                    definition.getLevel(),
+                    definition.getTitle(),
+                    definition.getMinPoints(),
+                    last ? Integer.MAX_VALUE : definition.getMaxPoints());
+        }
+        return compiled;
+    }
+
+    /**
+     * Table covering 0..top level threshold; points beyond it always map to the top level
+     */
+    private static byte[] buildLookupTable(LevelInfo[] levels) {
+        if (levels.length > Byte.MAX_VALUE) {
+            return new byte[0];
+        }
+        int size = Math.min(levels[levels.length - 1].minPoints(), MAX_TABLE_SIZE);
+        byte[] table = new byte[size];
+
+        int index = 0;
+        for (int points = 0; points < size; points++) {
+            while (index + 1 < levels.length && points >= levels[index + 1].minPoints()) {
+                index++;
             }
+            table[points] = (byte) index;
         }
-        return "Pet Newbie";
+        return table;
     }
 }
 
@@ -0,0 +1,17 @@
+-- V2__add_point_transaction_reference_unique.sql
+-- Makes point awards idempotent per (user_id, reference_id). Awards are claimed with
+-- INSERT ... ON CONFLICT DO NOTHING, so a redelivered event cannot award points twice.
+-- NULL reference ids never conflict and remain unconstrained.
+
+-- Keep pre-existing duplicates for audit, but make their reference ids unique
+UPDATE point_transactions t
+SET reference_id = LEFT(t.reference_id, 80) || '#' || t.id
+WHERE t.reference_id IS NOT NULL
+  AND EXISTS (
+      SELECT 1 FROM point_transactions earlier
+      WHERE earlier.user_id = t.user_id
+        AND earlier.reference_id = t.reference_id
+        AND earlier.id < t.id
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_transactions_user_reference ON point_transactions(user_id, reference_id);
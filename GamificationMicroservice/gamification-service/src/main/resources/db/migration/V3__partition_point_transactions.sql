@@ -0,0 +1,148 @@
+-- V3__partition_point_transactions.sql
+-- Monthly range partitioning of the point ledger on created_at, with archival of old months.
+--
+-- * point_transactions becomes a partitioned table (point_transactions_pYYYYMM per month).
+--   History reads use (user_id, created_at DESC) per partition and stop after the page.
+-- * A unique index on a partitioned table must include the partition key, so award
+--   idempotency moves to point_award_claims (user_id, reference_id), which is not partitioned.
+-- * Months older than the retention window are rolled into point_transactions_archive,
+--   one row per user and month with the entries as a JSONB array (TOAST-compressed),
+--   and the partition is dropped.
+
+-- Move the existing ledger aside
+ALTER TABLE point_transactions RENAME TO point_transactions_legacy;
+ALTER SEQUENCE point_transactions_id_seq OWNED BY NONE;
+DROP INDEX IF EXISTS idx_transactions_user;
+DROP INDEX IF EXISTS idx_transactions_created;
+DROP INDEX IF EXISTS uq_transactions_user_reference;
+
+CREATE TABLE point_transactions (
+    id BIGINT NOT NULL DEFAULT nextval('point_transactions_id_seq'),
+    user_id UUID NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    points INTEGER NOT NULL,
+    points_before INTEGER NOT NULL,
+    points_after INTEGER NOT NULL,
+    reference_id VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE point_transactions_id_seq OWNED BY point_transactions.id;
+
+CREATE INDEX idx_transactions_user_created ON point_transactions(user_id, created_at DESC);
+CREATE INDEX idx_transactions_created ON point_transactions(created_at DESC);
+
+-- Award idempotency: one claim per (user, reference). NULL references are never claimed.
+CREATE TABLE point_award_claims (
+    user_id UUID NOT NULL,
+    reference_id VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, reference_id)
+);
+
+-- Archived months: one row per user and month
+CREATE TABLE point_transactions_archive (
+    user_id UUID NOT NULL,
+    month DATE NOT NULL,
+    transaction_count INTEGER NOT NULL,
+    points BIGINT NOT NULL,
+    transactions JSONB NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, month)
+);
+
+-- Create monthly partitions from the current month up to months_ahead months ahead.
+-- Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_point_transaction_partitions(months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', CURRENT_DATE)::DATE;
+    created INTEGER := 0;
+    partition_name TEXT;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        partition_name := 'point_transactions_p' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF point_transactions FOR VALUES FROM (%L) TO (%L)',
+                partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Archive the oldest partition that ends on or before cutoff and drop it.
+-- Returns the archived month as YYYY-MM, or NULL if nothing is left to archive.
+CREATE OR REPLACE FUNCTION archive_oldest_point_transaction_partition(cutoff DATE)
+RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT;
+    partition_month DATE;
+BEGIN
+    SELECT c.relname, to_date(substring(c.relname FROM 'point_transactions_p(\d{6})$'), 'YYYYMM')
+    INTO partition_name, partition_month
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'point_transactions'::regclass
+      AND c.relname ~ '^point_transactions_p\d{6}$'
+      AND (to_date(substring(c.relname FROM 'point_transactions_p(\d{6})$'), 'YYYYMM')
+           + INTERVAL '1 month') <= cutoff
+    ORDER BY c.relname
+    LIMIT 1;
+
+    IF partition_name IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    EXECUTE format(
+        'INSERT INTO point_transactions_archive (user_id, month, transaction_count, points, transactions) '
+        'SELECT user_id, %L, count(*), sum(points), '
+        '       jsonb_agg(jsonb_build_object(''id'', id, ''action'', action, ''points'', points, '
+        '                 ''pointsBefore'', points_before, ''pointsAfter'', points_after, '
+        '                 ''referenceId'', reference_id, ''createdAt'', created_at) ORDER BY created_at) '
+        'FROM %I GROUP BY user_id '
+        'ON CONFLICT (user_id, month) DO NOTHING',
+        partition_month, partition_name);
+
+    EXECUTE format('ALTER TABLE point_transactions DETACH PARTITION %I', partition_name);
+    EXECUTE format('DROP TABLE %I', partition_name);
+
+    RETURN to_char(partition_month, 'YYYY-MM');
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for every month that already has data, then the upcoming months
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE)::DATE;
+BEGIN
+    SELECT date_trunc('month', min(created_at))::DATE INTO month_start FROM point_transactions_legacy;
+    WHILE month_start IS NOT NULL AND month_start < last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF point_transactions FOR VALUES FROM (%L) TO (%L)',
+            'point_transactions_p' || to_char(month_start, 'YYYYMM'),
+            month_start, (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+SELECT ensure_point_transaction_partitions(3);
+
+INSERT INTO point_transactions (id, user_id, action, points, points_before, points_after, reference_id, created_at)
+SELECT id, user_id, action, points, points_before, points_after, reference_id, created_at
+FROM point_transactions_legacy;
+
+-- References were made unique per user by V2
+INSERT INTO point_award_claims (user_id, reference_id, created_at)
+SELECT user_id, reference_id, created_at
+FROM point_transactions_legacy
+WHERE reference_id IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+DROP TABLE point_transactions_legacy;
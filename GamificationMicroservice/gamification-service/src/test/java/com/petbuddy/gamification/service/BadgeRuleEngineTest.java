@@ -0,0 +1,91 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.config.GamificationProperties;
+import com.petbuddy.gamification.config.GamificationProperties.BadgeRule;
+import com.petbuddy.gamification.entity.UserGamification;
+import com.petbuddy.gamification.enums.BadgeMetric;
+import com.petbuddy.gamification.enums.BadgeType;
+import com.petbuddy.gamification.enums.PointAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BadgeRuleEngineTest {
+
+    private final BadgeRuleEngine engine = new BadgeRuleEngine(properties(
+            rule("first_purchase", PointAction.FIRST_PURCHASE, BadgeMetric.NONE, 0),
+            rule("social_butterfly", PointAction.COMMUNITY_POST, BadgeMetric.WEEKLY_POSTS, 5),
+            rule("streak_master", PointAction.DAILY_LOGIN, BadgeMetric.LOGIN_STREAK, 7),
+            rule("community_helper", PointAction.COMMUNITY_POST, BadgeMetric.TOTAL_POINTS, 100)));
+
+    @Test
+    void actionsWithoutRulesAreSkipped() {
+        assertThat(engine.hasRules(PointAction.COMMUNITY_LIKE)).isFalse();
+        assertThat(engine.evaluate(PointAction.COMMUNITY_LIKE, state(), 0L)).isEmpty();
+        assertThat(engine.hasRules(PointAction.COMMUNITY_POST)).isTrue();
+    }
+
+    @Test
+    void metricNoneUnlocksOnTheActionAlone() {
+        assertThat(engine.evaluate(PointAction.FIRST_PURCHASE, state(), 0L))
+                .containsExactly(BadgeType.FIRST_PURCHASE);
+    }
+
+    @Test
+    void thresholdRulesFireOnlyOnceReached() {
+        UserGamification below = state();
+        below.setWeeklyPosts(4);
+        assertThat(engine.evaluate(PointAction.COMMUNITY_POST, below, 0L)).isEmpty();
+
+        UserGamification reached = state();
+        reached.setWeeklyPosts(5);
+        reached.setTotalPoints(100);
+        assertThat(engine.evaluate(PointAction.COMMUNITY_POST, reached, 0L))
+                .containsExactly(BadgeType.SOCIAL_BUTTERFLY, BadgeType.COMMUNITY_HELPER);
+    }
+
+    @Test
+    void ownedBadgesAreNotAwardedAgain() {
+        UserGamification streak = state();
+        streak.setLoginStreak(10);
+        long owned = BadgeRuleEngine.bit(BadgeType.STREAK_MASTER) | BadgeRuleEngine.bit(BadgeType.FIRST_PURCHASE);
+
+        assertThat(engine.evaluate(PointAction.DAILY_LOGIN, streak, owned)).isEmpty();
+        assertThat(engine.evaluate(PointAction.DAILY_LOGIN, streak, 0L)).containsExactly(BadgeType.STREAK_MASTER);
+    }
+
+    @Test
+    void rejectsRulesWithoutAction() {
+        assertThatThrownBy(() -> new BadgeRuleEngine(properties(rule("first_purchase", null, BadgeMetric.NONE, 0))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsUnknownBadgeIds() {
+        assertThatThrownBy(() -> new BadgeRuleEngine(properties(
+                rule("no_such_badge", PointAction.DAILY_LOGIN, BadgeMetric.NONE, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static UserGamification state() {
+        return UserGamification.builder().build();
+    }
+
+    private static GamificationProperties properties(BadgeRule... rules) {
+        GamificationProperties properties = new GamificationProperties();
+        properties.setBadges(List.of(rules));
+        return properties;
+    }
+
+    private static BadgeRule rule(String badge, PointAction action, BadgeMetric metric, int threshold) {
+        BadgeRule rule = new BadgeRule();
+        rule.setBadge(badge);
+        rule.setAction(action);
+        rule.setMetric(metric);
+        rule.setThreshold(threshold);
+        return rule;
+    }
+}
@@ -0,0 +1,118 @@
+package com.petbuddy.gamification.service;
+
+import com.petbuddy.gamification.config.GamificationProperties;
+import com.petbuddy.gamification.config.GamificationProperties.LevelDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LevelCalculatorTest {
+
+    private final LevelCalculator defaults = new LevelCalculator(new GamificationProperties());
+
+    @Test
+    void defaultLevelsResolveAtBoundaries() {
+        assertThat(defaults.getLevel(-5)).isEqualTo(1);
+        assertThat(defaults.getLevel(0)).isEqualTo(1);
+        assertThat(defaults.getLevel(99)).isEqualTo(1);
+        assertThat(defaults.getLevel(100)).isEqualTo(2);
+        assertThat(defaults.getLevel(1999)).isEqualTo(5);
+        assertThat(defaults.getLevel(2000)).isEqualTo(6);
+        assertThat(defaults.getLevel(Integer.MAX_VALUE)).isEqualTo(6);
+        assertThat(defaults.getLevelTitle(300)).isEqualTo("Pet Expert");
+    }
+
+    @Test
+    void lookupTableMatchesLinearScan() {
+        LevelCalculator calculator = new LevelCalculator(properties(
+                level(1, "One", 0, 9),
+                level(2, "Two", 10, 49),
+                level(3, "Three", 50, 50),
+                level(4, "Four", 51, 999)));
+        int[][] ranges = {{0, 9}, {10, 49}, {50, 50}, {51, Integer.MAX_VALUE}};
+
+        for (int points = 0; points <= 1200; points++) {
+            assertThat(calculator.getLevel(points)).as("points %d", points).isEqualTo(linearScan(ranges, points));
+        }
+    }
+
+    @Test
+    void levelsBeyondTheTableFallBackToBinarySearch() {
+        LevelCalculator calculator = new LevelCalculator(properties(
+                level(1, "Low", 0, 1_499_999),
+                level(2, "Mid", 1_500_000, 2_999_999),
+                level(3, "High", 3_000_000, 3_000_000)));
+
+        assertThat(calculator.getLevel(1_048_576)).isEqualTo(1);
+        assertThat(calculator.getLevel(1_500_000)).isEqualTo(2);
+        assertThat(calculator.getLevel(2_999_999)).isEqualTo(2);
+        assertThat(calculator.getLevel(3_000_000)).isEqualTo(3);
+        assertThat(calculator.getLevel(Integer.MAX_VALUE)).isEqualTo(3);
+    }
+
+    @Test
+    void levelInfoReportsProgressAndPointsToNext() {
+        LevelInfo info = defaults.calculateLevelInfo(150);
+        assertThat(info.level()).isEqualTo(2);
+        assertThat(info.progress()).isEqualTo(25);
+        assertThat(info.pointsToNext()).isEqualTo(150);
+
+        LevelInfo top = defaults.calculateLevelInfo(5000);
+        assertThat(top.level()).isEqualTo(6);
+        assertThat(top.progress()).isEqualTo(100);
+        assertThat(top.pointsToNext()).isZero();
+    }
+
+    @Test
+    void configuredLevelsAreSortedByMinPoints() {
+        LevelCalculator calculator = new LevelCalculator(properties(
+                level(2, "Two", 100, 199),
+                level(1, "One", 0, 99)));
+
+        assertThat(calculator.getLevel(50)).isEqualTo(1);
+        assertThat(calculator.getLevel(150)).isEqualTo(2);
+        assertThat(calculator.getLevel(10_000)).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsLevelsNotStartingAtZero() {
+        assertThatThrownBy(() -> new LevelCalculator(properties(level(1, "One", 10, 99))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsGapsBetweenLevels() {
+        assertThatThrownBy(() -> new LevelCalculator(properties(
+                level(1, "One", 0, 99),
+                level(2, "Two", 150, 299))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("gap after level 1");
+    }
+
+    private static int linearScan(int[][] ranges, int points) {
+        for (int i = 0; i < ranges.length; i++) {
+            if (points >= ranges[i][0] && points <= ranges[i][1]) {
+                return i + 1;
+            }
+        }
+        return 1;
+    }
+
+    private static GamificationProperties properties(LevelDefinition... levels) {
+        GamificationProperties properties = new GamificationProperties();
+        properties.setLevels(List.of(levels));
+        return properties;
+    }
+
+    private static LevelDefinition level(int level, String title, int minPoints, int maxPoints) {
+        LevelDefinition definition = new LevelDefinition();
+        definition.setLevel(level);
+        definition.setTitle(title);
+        definition.setMinPoints(minPoints);
+        definition.setMaxPoints(maxPoints);
+        return definition;
+    }
+}
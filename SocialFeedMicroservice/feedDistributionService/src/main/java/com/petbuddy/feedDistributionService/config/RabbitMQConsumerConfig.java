@@ -63,6 +63,13 @@ public class RabbitMQConsumerConfig {
 
     @RabbitListener(queues = Q_POST_CREATED)
     public void onPostCreated(Message message) {
+        // Outbox delivery is at-least-once; drop redeliveries before parsing the body
+        String eventId = message.getMessageProperties().getMessageId();
+        if (eventId != null && feedDistributionService.isDuplicateEvent(eventId)) {
+            log.info("Event {} already received - ignoring duplicate delivery", eventId);
+            return;
+        }
+
         String json = new String(message.getBody(), StandardCharsets.UTF_8);
         log.info("Received message in json: {}", json);
 
@@ -83,4 +90,14 @@ public class RabbitMQConsumerConfig {
             }
         }
     }
+
+    @RabbitListener(queues = Q_POST_DELETED)
+    public void onPostDeleted(Message message) {
+        String json = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            feedDistributionService.handlePostDeleted(Long.valueOf(json.trim()));
+        } catch (NumberFormatException e) {
+            log.error("Dropping unreadable post.deleted event: {}", json);
+        }
+    }
 }
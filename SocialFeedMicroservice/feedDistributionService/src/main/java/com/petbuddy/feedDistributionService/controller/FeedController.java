@@ -1,7 +1,12 @@
 package com.petbuddy.feedDistributionService.controller;
 
 import com.petbuddy.feedDistributionService.dto.FeedResponse;
+import com.petbuddy.feedDistributionService.dto.LocationRequest;
+import com.petbuddy.feedDistributionService.dto.PostDto;
 import com.petbuddy.feedDistributionService.exception.FeedRetrievalException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -9,7 +14,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 import com.petbuddy.feedDistributionService.service.FeedReadService;
+import com.petbuddy.feedDistributionService.service.GeoIndexService;
+import com.petbuddy.feedDistributionService.service.NearbyPostService;
 
 /**
  * Feed Controller - Handles feed retrieval requests
@@ -22,6 +31,8 @@ import com.petbuddy.feedDistributionService.service.FeedReadService;
 public class FeedController {
 
     private final FeedReadService feedReadService;
+    private final NearbyPostService nearbyPostService;
+    private final GeoIndexService geoIndexService;
 
     /**
      * Get feed for a user
@@ -48,5 +59,41 @@ public class FeedController {
 
         return ResponseEntity.ok(response);
     }
-}
 
+    /**
+     * Rescue posts near a location, nearest first
+     *
+     * @param radiusKm Search radius in kilometers (0.1-50)
+     * @param limit Number of posts to return (1-100)
+     */
+    @GetMapping("/rescue/nearby")
+    public ResponseEntity<List<PostDto>> getRescuePostsNearby(
+            @RequestParam @DecimalMin("-90.0") @DecimalMax("90.0") double latitude,
+            @RequestParam @DecimalMin("-180.0") @DecimalMax("180.0") double longitude,
+            @RequestParam(defaultValue = "10") @DecimalMin("0.1") @DecimalMax("50") double radiusKm,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+
+        return ResponseEntity.ok(nearbyPostService.getRescuePostsNear(latitude, longitude, radiusKm, limit));
+    }
+
+    /**
+     * Opt in to location-based distribution, or update the shared location
+     */
+    @PutMapping("/location")
+    public ResponseEntity<Void> updateLocation(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody LocationRequest request) {
+
+        geoIndexService.updateUserLocation(userId, request.getLatitude(), request.getLongitude());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Opt out of location-based distribution
+     */
+    @DeleteMapping("/location")
+    public ResponseEntity<Void> removeLocation(@RequestHeader("X-User-Id") Long userId) {
+        geoIndexService.removeUserLocation(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,7 +3,6 @@ package com.petbuddy.feedDistributionService.service;
 import com.petbuddy.feedDistributionService.Client.FollowerServiceClient;
 import com.petbuddy.feedDistributionService.dto.PostCreatedEvent;
 import com.petbuddy.feedDistributionService.exception.FeedDistributionException;
-import com.petbuddy.feedDistributionService.util.GeoUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,16 +28,35 @@ public class FeedDistributionService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final FollowerServiceClient followerServiceClient;
     private final UserServiceClient userServiceClient;
+    private final GeoIndexService geoIndexService;
 
     private static final String FEED_KEY_PREFIX = "feed:";
+    private static final String EVENT_SEEN_KEY_PREFIX = "event_seen:";
     private static final long MAX_FEED_SIZE = 1000;
 
+    /**
+     * Marks an event id as seen; true if it had already been seen within the last 12 hours
+     */
+    public boolean isDuplicateEvent(String eventId) {
+        try {
+            Boolean firstDelivery = redisTemplate.opsForValue()
+                    .setIfAbsent(EVENT_SEEN_KEY_PREFIX + eventId, "1", Duration.ofHours(12));
+            return Boolean.FALSE.equals(firstDelivery);
+        } catch (Exception e) {
+            // Fall through to the per-post check in handlePostCreated
+            log.warn("Event dedup check failed for {}: {}", eventId, e.getMessage());
+            return false;
+        }
+    }
+
     @Async("feedTaskExecutor")
     public void handlePostCreated(PostCreatedEvent event) {
         log.info("Processing post created event for post: {}, author: {}",
                 event.getPostId(), event.getUserId());
 
         try {
+            indexPostLocation(event);
+
             if (isNonDistributableVisibility(event) || event.getMediaVisibility() == MediaVisibility.PRIVATE
                     || event.getUserId() == null || event.getPostId() == null) {
                 log.info("Post {} with visibility {} will not be fan-out distributed", event.getPostId(),
@@ -63,6 +81,27 @@ public class FeedDistributionService {
         }
     }
 
+    /**
+     * Public posts with a location are searchable by radius ("rescue posts near me")
+     */
+    private void indexPostLocation(PostCreatedEvent event) {
+        if (event.getMediaVisibility() != MediaVisibility.PUBLIC || event.getPostId() == null
+                || event.getLatitude() == null || event.getLongitude() == null) {
+            return;
+        }
+        try {
+            long createdAt = event.getCreatedAt() != null ? event.getCreatedAt().toEpochMilli() : System.currentTimeMillis();
+            geoIndexService.indexPost(event.getPostId(), event.getLatitude(), event.getLongitude(),
+                    event.getUrgency() == Urgency.RESCUE, createdAt);
+        } catch (Exception e) {
+            log.warn("Failed to geo-index post {}: {}", event.getPostId(), e.getMessage());
+        }
+    }
+
+    public void handlePostDeleted(Long postId) {
+        geoIndexService.removePost(postId);
+    }
+
     private boolean isNonDistributableVisibility(PostCreatedEvent event) {
         if (event.getMediaVisibility() == null)
             return false;
@@ -91,8 +130,7 @@ public class FeedDistributionService {
             }
 
             if (event.getLatitude() != null && event.getLongitude() != null) {
-                String postGeohash = GeoUtil.encode(event.getLatitude(), event.getLongitude());
-                followerIds.addAll(userServiceClient.getUsersNearGeohash(postGeohash));
+                followerIds.addAll(geoIndexService.findUsersNear(event.getLatitude(), event.getLongitude()));
             }
 
             followerIds.add(event.getUserId());
@@ -0,0 +1,174 @@
+package com.petbuddy.feedDistributionService.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoSearchCommandArgs;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.domain.geo.GeoReference;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis GEO indexes for location-based distribution.
+ *
+ * Cache Strategy:
+ * - geo:users - GEO set of users who opted in to sharing their location
+ * - geo:posts - GEO set of active posts with a location
+ * - geo:posts:rescue - GEO set of active RESCUE posts
+ * - geo:posts:time - ZSET postId -> createdAt epoch millis, used to expire old posts
+ *
+ * Posts older than geo.posts.max-age-days are pruned from the post sets on write, a
+ * small batch at a time. Radius lookups are single GEOSEARCH calls.
+ *
+ * Redis GEO only accepts latitudes within +/-85.05112878 (the Web Mercator limit), so
+ * latitudes beyond it are clamped to it before every GEO call.
+ */
+@Service
+@Slf4j
+public class GeoIndexService {
+
+    private static final String USERS_KEY = "geo:users";
+    private static final String POSTS_KEY = "geo:posts";
+    private static final String RESCUE_POSTS_KEY = "geo:posts:rescue";
+    private static final String POSTS_TIME_KEY = "geo:posts:time";
+    private static final int PRUNE_BATCH_SIZE = 100;
+    static final double MAX_GEO_LATITUDE = 85.05112878;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration postMaxAge;
+    private final double fanoutRadiusKm;
+    private final int fanoutMaxUsers;
+
+    public GeoIndexService(StringRedisTemplate redisTemplate,
+            @Value("${geo.posts.max-age-days:7}") long postMaxAgeDays,
+            @Value("${geo.fanout.radius-km:5}") double fanoutRadiusKm,
+            @Value("${geo.fanout.max-users:5000}") int fanoutMaxUsers) {
+        this.redisTemplate = redisTemplate;
+        this.postMaxAge = Duration.ofDays(postMaxAgeDays);
+        this.fanoutRadiusKm = fanoutRadiusKm;
+        this.fanoutMaxUsers = fanoutMaxUsers;
+    }
+
+    /**
+     * Record or move an opted-in user's location
+     */
+    public void updateUserLocation(Long userId, double latitude, double longitude) {
+        redisTemplate.opsForGeo().add(USERS_KEY, new Point(longitude, clampLatitude(latitude)), userId.toString());
+    }
+
+    /**
+     * Opt a user out of location-based distribution
+     */
+    public void removeUserLocation(Long userId) {
+        redisTemplate.opsForGeo().remove(USERS_KEY, userId.toString());
+    }
+
+    /**
+     * Opted-in users within the fan-out radius of a point, nearest first
+     */
+    public Set<Long> findUsersNear(double latitude, double longitude) {
+        GeoResults<GeoLocation<String>> results = redisTemplate.opsForGeo().search(USERS_KEY,
+                GeoReference.fromCoordinate(longitude, clampLatitude(latitude)),
+                new Distance(fanoutRadiusKm, Metrics.KILOMETERS),
+                GeoSearchCommandArgs.newGeoSearchArgs().sortAscending().limit(fanoutMaxUsers));
+
+        Set<Long> userIds = new HashSet<>();
+        if (results != null) {
+            for (GeoResult<GeoLocation<String>> result : results) {
+                userIds.add(Long.valueOf(result.getContent().getName()));
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * Index a post's location; rescue posts also go into the rescue set
+     */
+    public void indexPost(Long postId, double latitude, double longitude, boolean rescue, long createdAtMillis) {
+        String member = postId.toString();
+        Point point = new Point(longitude, clampLatitude(latitude));
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForGeo().add(POSTS_KEY, point, member);
+                if (rescue) {
+                    ops.opsForGeo().add(RESCUE_POSTS_KEY, point, member);
+                }
+                ops.opsForZSet().add(POSTS_TIME_KEY, member, createdAtMillis);
+                return null;
+            }
+        });
+
+        pruneExpiredPosts();
+    }
+
+    public void removePost(Long postId) {
+        removePosts(List.of(postId.toString()));
+    }
+
+    /**
+     * Rescue post ids within radiusKm of a point, nearest first
+     */
+    public List<Long> findRescuePostsNear(double latitude, double longitude, double radiusKm, int limit) {
+        GeoResults<GeoLocation<String>> results = redisTemplate.opsForGeo().search(RESCUE_POSTS_KEY,
+                GeoReference.fromCoordinate(longitude, clampLatitude(latitude)),
+                new Distance(radiusKm, Metrics.KILOMETERS),
+                GeoSearchCommandArgs.newGeoSearchArgs().sortAscending().limit(limit));
+
+        List<Long> postIds = new ArrayList<>();
+        if (results != null) {
+            for (GeoResult<GeoLocation<String>> result : results) {
+                postIds.add(Long.valueOf(result.getContent().getName()));
+            }
+        }
+        return postIds;
+    }
+
+    static double clampLatitude(double latitude) {
+        return Math.max(-MAX_GEO_LATITUDE, Math.min(MAX_GEO_LATITUDE, latitude));
+    }
+
+    private void pruneExpiredPosts() {
+        try {
+            long cutoff = System.currentTimeMillis() - postMaxAge.toMillis();
+            Set<String> expired = redisTemplate.opsForZSet()
+                    .rangeByScore(POSTS_TIME_KEY, Double.NEGATIVE_INFINITY, cutoff, 0, PRUNE_BATCH_SIZE);
+            if (expired != null && !expired.isEmpty()) {
+                removePosts(new ArrayList<>(expired));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to prune expired geo posts: {}", e.getMessage());
+        }
+    }
+
+    private void removePosts(List<String> members) {
+        Object[] values = members.toArray();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForZSet().remove(POSTS_KEY, values);
+                ops.opsForZSet().remove(RESCUE_POSTS_KEY, values);
+                ops.opsForZSet().remove(POSTS_TIME_KEY, values);
+                return null;
+            }
+        });
+    }
+}
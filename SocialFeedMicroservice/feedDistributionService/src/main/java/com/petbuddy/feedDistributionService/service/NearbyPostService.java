@@ -0,0 +1,41 @@
+package com.petbuddy.feedDistributionService.service;
+
+import com.petbuddy.feedDistributionService.Client.PostServiceClient;
+import com.petbuddy.feedDistributionService.dto.PostDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Location-based reads served from the GEO index
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NearbyPostService {
+
+    private final GeoIndexService geoIndexService;
+    private final PostServiceClient postServiceClient;
+
+    /**
+     * Rescue posts within radiusKm, nearest first
+     */
+    public List<PostDto> getRescuePostsNear(double latitude, double longitude, double radiusKm, int limit) {
+        List<Long> postIds = geoIndexService.findRescuePostsNear(latitude, longitude, radiusKm, limit);
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Batch fetch, then restore distance order
+        Map<Long, PostDto> posts = postServiceClient.fetchPostsByIds(postIds).stream()
+                .collect(Collectors.toMap(PostDto::getPostId, Function.identity(), (a, b) -> a));
+        return postIds.stream().map(posts::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -6,10 +6,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
  * Redis configuration for L2 caching and Pub/Sub
@@ -18,7 +17,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * - Distributed caching (L2)
  * - Pub/Sub for real-time WebSocket messaging
  * - Connection pooling
- * - Custom serialization
+ * - Plain string values (counters and id sets) via StringRedisTemplate
  */
 @Configuration
 public class RedisConfig {
@@ -49,23 +48,24 @@ public class RedisConfig {
     }
 
     /**
-     * Redis template with JSON serialization
+     * Add a delta to a counter field of a hash, only if the field is cached, clamped at zero.
+     * KEYS[1] = hash; ARGV[1] = field, ARGV[2] = delta, ARGV[3] = ttl seconds.
+     * Counters are stored as plain decimal strings (see StringRedisTemplate).
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(connectionFactory);
-
-        // Use String serializer for keys
-        template.setKeySerializer(new StringRedisSerializer());
-        template.setHashKeySerializer(new StringRedisSerializer());
-
-        // Use JSON serializer for values
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
-
-        template.afterPropertiesSet();
-        return template;
+    public RedisScript<Long> counterDeltaScript() {
+        return new DefaultRedisScript<>("""
+                if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 0 then
+                    return nil
+                end
+                local count = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+                if count < 0 then
+                    redis.call('HSET', KEYS[1], ARGV[1], 0)
+                    count = 0
+                end
+                redis.call('EXPIRE', KEYS[1], ARGV[3])
+                return count
+                """, Long.class);
     }
 
     /**
@@ -28,6 +28,12 @@ public class GamificationEventPublisher {
     @Value("${rabbitmq.routing-keys.comment-added}")
     private String commentAddedRoutingKey;
 
+    @Value("${rabbitmq.routing-keys.like-deleted}")
+    private String likeDeletedRoutingKey;
+
+    @Value("${rabbitmq.routing-keys.comment-deleted}")
+    private String commentDeletedRoutingKey;
+
     /**
      * Publish like created event for gamification points
      */
@@ -75,6 +81,47 @@ public class GamificationEventPublisher {
         }
     }
 
+    /**
+     * Publish like deleted event so live engagement counters can decrement
+     */
+    @Async
+    public void publishLikeDeleted(Long postId, Long userId) {
+        try {
+            GamificationEvents.LikeDeletedEvent event = GamificationEvents.LikeDeletedEvent.builder()
+                    .postId(postId)
+                    .userId(userId)
+                    .deletedAt(Instant.now())
+                    .build();
+
+            rabbitTemplate.convertAndSend(exchangeName, likeDeletedRoutingKey, event);
+            log.debug("Published like.deleted event: postId={}, userId={}", postId, userId);
+
+        } catch (Exception e) {
+            log.error("Failed to publish like.deleted event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publish comment deleted event so live engagement counters can decrement
+     */
+    @Async
+    public void publishCommentDeleted(Long commentId, Long postId, Long userId) {
+        try {
+            GamificationEvents.CommentDeletedEvent event = GamificationEvents.CommentDeletedEvent.builder()
+                    .commentId(commentId)
+                    .postId(postId)
+                    .userId(userId)
+                    .deletedAt(Instant.now())
+                    .build();
+
+            rabbitTemplate.convertAndSend(exchangeName, commentDeletedRoutingKey, event);
+            log.debug("Published comment.deleted event: commentId={}, postId={}", commentId, postId);
+
+        } catch (Exception e) {
+            log.error("Failed to publish comment.deleted event: {}", e.getMessage());
+        }
+    }
+
     /**
      * Publish post created event for gamification points
      */
@@ -45,4 +45,25 @@ public class GamificationEvents {
         private Long userId;
         private Instant createdAt;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LikeDeletedEvent {
+        private Long postId;
+        private Long userId;
+        private Instant deletedAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CommentDeletedEvent {
+        private Long commentId;
+        private Long postId;
+        private Long userId;
+        private Instant deletedAt;
+    }
 }
@@ -3,18 +3,20 @@ package com.petbuddy.interaction.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 
 /**
  * Redis cache service for Comment operations (L2 cache)
  *
  * Cache Strategy:
- * - comment:count:{postId} - Counter for total comments
- * - comment:recent:{postId} - Sorted set of recent comment IDs
+ * - post_stats:{postId} - Hash; "comments" holds the count as a plain decimal string
+ * - comment:recent:{postId} - Sorted set of recent comment IDs (plain strings)
  *
  * TTL:
  * - Counters: 1 hour
@@ -25,7 +27,8 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class CommentCacheService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> counterDeltaScript;
 
     @Value("${interaction.cache.comment-ttl:1800}")
     private long commentTtl;
@@ -44,19 +47,7 @@ public class CommentCacheService {
      * @return New count
      */
     public Long incrementCommentCount(Long postId) {
-        try {
-            String key = COMMENT_COUNT_PREFIX + postId;
-            Long count = Long.valueOf(redisTemplate.opsForHash().get(key, "comments").toString());
-            Long newCount = count + 1;
-            redisTemplate.opsForHash().put(key, "comments", newCount);
-            redisTemplate.expire(key, Duration.ofSeconds(commentTtl * 2)); // 1 hour
-
-            log.debug("Incremented comment count for post {}: {}", postId, newCount);
-            return newCount;
-        } catch (Exception e) {
-            log.error("Failed to increment comment count for post {}", postId, e);
-            return null;
-        }
+        return applyDelta(postId, 1);
     }
 
     /**
@@ -66,23 +57,24 @@ public class CommentCacheService {
      * @return New count
      */
     public Long decrementCommentCount(Long postId) {
+        return applyDelta(postId, -1);
+    }
+
+    /**
+     * Atomically add delta to the cached count, clamped at zero
+     *
+     * @return New count, or null if the count is not cached
+     */
+    private Long applyDelta(Long postId, long delta) {
         try {
             String key = COMMENT_COUNT_PREFIX + postId;
-            Long count = Long.valueOf(redisTemplate.opsForHash().get(key, "comments").toString());
-            Long newCount = count - 1;
-            redisTemplate.opsForHash().put(key, "comments", newCount);
-            redisTemplate.expire(key, Duration.ofSeconds(commentTtl * 2)); // 1 hour
-
-            // Ensure count doesn't go negative
-            if (newCount != null && newCount < 0) {
-                redisTemplate.opsForHash().put(key, "comments", 0);
-                newCount = 0L;
-            }
+            Long newCount = redisTemplate.execute(counterDeltaScript, List.of(key),
+                    "comments", Long.toString(delta), Long.toString(commentTtl * 2));
 
-            log.debug("Decremented comment count for post {}: {}", postId, newCount);
+            log.debug("Applied comment count delta {} for post {}: {}", delta, postId, newCount);
             return newCount;
         } catch (Exception e) {
-            log.error("Failed to decrement comment count for post {}", postId, e);
+            log.error("Failed to update comment count for post {}", postId, e);
             return null;
         }
     }
@@ -97,14 +89,7 @@ public class CommentCacheService {
         try {
             String key = COMMENT_COUNT_PREFIX + postId;
             Object value = redisTemplate.opsForHash().get(key, "comments");
-
-            if (value instanceof Integer) {
-                return ((Integer) value).longValue();
-            } else if (value instanceof Long) {
-                return (Long) value;
-            }
-
-            return null;
+            return value != null ? Long.valueOf(value.toString()) : null;
         } catch (Exception e) {
             log.error("Failed to get comment count for post {}", postId, e);
             return null;
@@ -120,7 +105,7 @@ public class CommentCacheService {
     public void setCommentCount(Long postId, Long count) {
         try {
             String key = COMMENT_COUNT_PREFIX + postId;
-            redisTemplate.opsForHash().put(key, "comments", count);
+            redisTemplate.opsForHash().put(key, "comments", count.toString());
             redisTemplate.expire(key, Duration.ofSeconds(commentTtl * 2));
             log.debug("Set comment count for post {}: {}", postId, count);
         } catch (Exception e) {
@@ -181,7 +166,7 @@ public class CommentCacheService {
      * @param limit Number of recent comments to get
      * @return Set of comment IDs
      */
-    public Set<Object> getRecentCommentIds(Long postId, int limit) {
+    public Set<String> getRecentCommentIds(Long postId, int limit) {
         try {
             String key = COMMENT_RECENT_PREFIX + postId;
             // Get most recent (highest scores)
@@ -281,6 +281,8 @@ public class CommentService {
             cacheService.setCommentCount(comment.getPostId(), newCount);
         }
 
+        eventPublisher.publishCommentDeleted(commentId, comment.getPostId(), userId);
+
         log.info("Comment deleted successfully: id={}, newCount={}", commentId, newCount);
     }
 
@@ -3,18 +3,23 @@ package com.petbuddy.interaction.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 
 /**
  * Redis cache service for Like operations (L2 cache)
  *
  * Cache Strategy:
- * - like:count:{postId} - Counter for total likes
- * - like:users:{postId} - Set of user IDs who liked
+ * - post_stats:{postId} - Hash; "likes" holds the count as a plain decimal string
+ * - like:users:{postId} - Set of user IDs (plain strings) who liked
+ *
+ * Values are raw strings so other services (feed reads) can use them directly, and
+ * counts are updated atomically in Redis.
  *
  * TTL:
  * - Counters: 1 hour
@@ -25,7 +30,8 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class LikeCacheService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> counterDeltaScript;
 
     @Value("${interaction.cache.like-ttl:3600}")
     private long likeTtl;
@@ -44,22 +50,7 @@ public class LikeCacheService {
      * @return New count
      */
     public Long incrementLikeCount(Long postId) {
-        try {
-
-            // post_stats:postId (hash) -> key ->likes , values-> count
-
-            String key = LIKE_COUNT_PREFIX + postId;
-            Long count = Long.valueOf(redisTemplate.opsForHash().get(key, "likes").toString());
-            Long newCount = count + 1;
-            redisTemplate.opsForHash().put(key, "likes", newCount);
-            redisTemplate.expire(key, Duration.ofSeconds(likeTtl));
-
-            log.debug("Incremented like count for post {}: {}", postId, newCount);
-            return newCount;
-        } catch (Exception e) {
-            log.error("Failed to increment like count for post {}", postId, e);
-            return null;
-        }
+        return applyDelta(postId, 1);
     }
 
     /**
@@ -69,23 +60,24 @@ public class LikeCacheService {
      * @return New count
      */
     public Long decrementLikeCount(Long postId) {
+        return applyDelta(postId, -1);
+    }
+
+    /**
+     * Atomically add delta to the cached count, clamped at zero
+     *
+     * @return New count, or null if the count is not cached
+     */
+    private Long applyDelta(Long postId, long delta) {
         try {
             String key = LIKE_COUNT_PREFIX + postId;
-            Long count = Long.valueOf(redisTemplate.opsForHash().get(key, "likes").toString());
-            Long newCount = count - 1;
-            redisTemplate.opsForHash().put(key, "likes", newCount);
-            redisTemplate.expire(key, Duration.ofSeconds(likeTtl));
+            Long newCount = redisTemplate.execute(counterDeltaScript, List.of(key),
+                    "likes", Long.toString(delta), Long.toString(likeTtl));
 
-            // Ensure count doesn't go negative
-            if (newCount != null && newCount < 0) {
-                redisTemplate.opsForHash().put(key, "likes", 0);
-                newCount = 0L;
-            }
-
-            log.debug("Decremented like count for post {}: {}", postId, newCount);
+            log.debug("Applied like count delta {} for post {}: {}", delta, postId, newCount);
             return newCount;
         } catch (Exception e) {
-            log.error("Failed to decrement like count for post {}", postId, e);
+            log.error("Failed to update like count for post {}", postId, e);
             return null;
         }
     }
@@ -100,14 +92,7 @@ public class LikeCacheService {
         try {
             String key = LIKE_COUNT_PREFIX + postId;
             Object value = redisTemplate.opsForHash().get(key, "likes");
-
-            if (value instanceof Integer) {
-                return ((Integer) value).longValue();
-            } else if (value instanceof Long) {
-                return (Long) value;
-            }
-
-            return null;
+            return value != null ? Long.valueOf(value.toString()) : null;
         } catch (Exception e) {
             log.error("Failed to get like count for post {}", postId, e);
             return null;
@@ -123,7 +108,7 @@ public class LikeCacheService {
     public void setLikeCount(Long postId, Long count) {
         try {
             String key = LIKE_COUNT_PREFIX + postId;
-            redisTemplate.opsForHash().put(key, "likes", count);
+            redisTemplate.opsForHash().put(key, "likes", count.toString());
             redisTemplate.expire(key, Duration.ofSeconds(likeTtl));
             log.debug("Set like count for post {}: {}", postId, count);
         } catch (Exception e) {
@@ -195,7 +180,7 @@ public class LikeCacheService {
      * @param postId Post ID
      * @return Set of user IDs
      */
-    public Set<Object> getLikedUsers(Long postId) {
+    public Set<String> getLikedUsers(Long postId) {
         try {
             String key = LIKE_USERS_PREFIX + postId;
             return redisTemplate.opsForSet().members(key);
@@ -243,7 +228,7 @@ public class LikeCacheService {
                 String[] userIdStrings = likedUserIds.stream()
                         .map(String::valueOf)
                         .toArray(String[]::new);
-                redisTemplate.opsForSet().add(key, (Object[]) userIdStrings);
+                redisTemplate.opsForSet().add(key, userIdStrings);
                 redisTemplate.expire(key, Duration.ofSeconds(likeTtl / 2));
             }
 
@@ -294,6 +294,8 @@ public class LikeService {
             likeRepository.deleteByPostIdAndUserId(postId, userId);
             log.debug("Deleted like from database: user={}, post={}", userId, postId);
 
+            eventPublisher.publishLikeDeleted(postId, userId);
+
         } catch (Exception e) {
             log.error("Failed to delete like: user={}, post={}", userId, postId, e);
 
@@ -1,5 +1,9 @@
 package com.petbuddy.social_feed.Client;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.petbuddy.social_feed.grpc.BatchGetUserInfoRequest;
 import com.petbuddy.social_feed.grpc.BatchGetUserInfoResponse;
 import com.petbuddy.social_feed.grpc.GetUserInfoRequest;
@@ -8,17 +12,22 @@ import com.petbuddy.social_feed.grpc.UserProfileGrpcServiceGrpc;
 import io.grpc.StatusRuntimeException;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * gRPC client for fetching user information from UserProfileMicroservice.
  * Used to enrich posts with user avatars, names, etc.
+ *
+ * Every call carries a deadline (user-profile.grpc.deadline-ms). Caching and request
+ * coalescing live in UserInfoCache; this client always goes to the service.
  */
 @Service
 @Slf4j
@@ -27,30 +36,26 @@ public class UserProfileClient {
     @GrpcClient("user-profile-service")
     private UserProfileGrpcServiceGrpc.UserProfileGrpcServiceBlockingStub userProfileStub;
 
+    @GrpcClient("user-profile-service")
+    private UserProfileGrpcServiceGrpc.UserProfileGrpcServiceFutureStub userProfileFutureStub;
+
+    @Value("${user-profile.grpc.deadline-ms:500}")
+    private long deadlineMs;
+
     /**
      * Get user info by ID
      */
-    @Cacheable(value = "userInfo", key = "#userId", unless = "#result == null")
     public Optional<UserInfo> getUserInfo(String userId) {
         try {
             GetUserInfoRequest request = GetUserInfoRequest.newBuilder()
                     .setUserId(userId)
                     .build();
 
-            UserInfoResponse response = userProfileStub.getUserInfo(request);
-
-            if (response.getFirstName().isEmpty() && response.getLastName().isEmpty()) {
-                return Optional.empty(); // User not found
-            }
+            UserInfoResponse response = userProfileStub
+                    .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                    .getUserInfo(request);
 
-            return Optional.of(UserInfo.builder()
-                    .userId(response.getUserId())
-                    .firstName(response.getFirstName())
-                    .lastName(response.getLastName())
-                    .avatarUrl(response.getAvatarUrl())
-                    .bio(response.getBio())
-                    .followersCount(response.getFollowersCount())
-                    .build());
+            return toUserInfo(response);
 
         } catch (StatusRuntimeException e) {
             log.error("gRPC call failed for user {}: {}", userId, e.getStatus());
@@ -62,41 +67,83 @@ public class UserProfileClient {
      * Batch get user info for multiple users
      */
     public Map<String, UserInfo> batchGetUserInfo(List<String> userIds) {
-        Map<String, UserInfo> result = new HashMap<>();
-
         if (userIds == null || userIds.isEmpty()) {
-            return result;
+            return new HashMap<>();
         }
 
         try {
-            BatchGetUserInfoRequest request = BatchGetUserInfoRequest.newBuilder()
-                    .addAllUserIds(userIds)
-                    .build();
-
-            BatchGetUserInfoResponse response = userProfileStub.batchGetUserInfo(request);
-
-            for (UserInfoResponse userResponse : response.getUsersList()) {
-                if (!userResponse.getFirstName().isEmpty() || !userResponse.getLastName().isEmpty()) {
-                    result.put(userResponse.getUserId(), UserInfo.builder()
-                            .userId(userResponse.getUserId())
-                            .firstName(userResponse.getFirstName())
-                            .lastName(userResponse.getLastName())
-                            .avatarUrl(userResponse.getAvatarUrl())
-                            .bio(userResponse.getBio())
-                            .followersCount(userResponse.getFollowersCount())
-                            .build());
-                }
-            }
-
-            log.debug("Batch fetched {} user infos", result.size());
+            BatchGetUserInfoResponse response = userProfileStub
+                    .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                    .batchGetUserInfo(buildBatchRequest(userIds));
+            return toUserInfoMap(response);
 
         } catch (StatusRuntimeException e) {
             log.error("gRPC batch call failed: {}", e.getStatus());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Non-blocking batch lookup. Users that do not exist are absent from the map; the
+     * future fails if the call fails or misses its deadline.
+     */
+    public CompletableFuture<Map<String, UserInfo>> batchGetUserInfoAsync(List<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
         }
 
+        CompletableFuture<Map<String, UserInfo>> result = new CompletableFuture<>();
+        ListenableFuture<BatchGetUserInfoResponse> call = userProfileFutureStub
+                .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                .batchGetUserInfo(buildBatchRequest(userIds));
+
+        Futures.addCallback(call, new FutureCallback<>() {
+            @Override
+            public void onSuccess(BatchGetUserInfoResponse response) {
+                Map<String, UserInfo> users = toUserInfoMap(response);
+                log.debug("Batch fetched {} user infos", users.size());
+                result.complete(users);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                log.error("gRPC async batch call failed for {} users: {}", userIds.size(), t.getMessage());
+                result.completeExceptionally(t);
+            }
+        }, MoreExecutors.directExecutor());
+
+        return result;
+    }
+
+    private static BatchGetUserInfoRequest buildBatchRequest(List<String> userIds) {
+        return BatchGetUserInfoRequest.newBuilder()
+                .addAllUserIds(userIds)
+                .build();
+    }
+
+    private static Map<String, UserInfo> toUserInfoMap(BatchGetUserInfoResponse response) {
+        Map<String, UserInfo> result = new HashMap<>();
+        for (UserInfoResponse userResponse : response.getUsersList()) {
+            toUserInfo(userResponse).ifPresent(info -> result.put(userResponse.getUserId(), info));
+        }
         return result;
     }
 
+    private static Optional<UserInfo> toUserInfo(UserInfoResponse response) {
+        if (response.getFirstName().isEmpty() && response.getLastName().isEmpty()) {
+            return Optional.empty(); // User not found
+        }
+
+        return Optional.of(UserInfo.builder()
+                .userId(response.getUserId())
+                .firstName(response.getFirstName())
+                .lastName(response.getLastName())
+                .avatarUrl(response.getAvatarUrl())
+                .bio(response.getBio())
+                .followersCount(response.getFollowersCount())
+                .build());
+    }
+
     /**
      * User info DTO for internal use
      */
@@ -1,19 +1,18 @@
 package com.petbuddy.social_feed.config;
 
-import java.util.List;
-
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
 
 @Configuration
 @EnableAsync
 @EnableCaching
+@EnableScheduling
 public class AppConfig {
     
     @Bean
@@ -26,11 +25,12 @@ public class AppConfig {
         executor.initialize();
         return executor;
     }
-    
+
+    /**
+     * RestTemplate for calls to the user service (UserServiceClient)
+     */
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(List.of("idempotency", "user-posts"));
-        return cacheManager;
+    public RestTemplate restTemplate() {
+        return new RestTemplate();
     }
 }
@@ -2,6 +2,11 @@ package com.petbuddy.social_feed.config;
 
 import java.time.Duration;
 
+import com.petbuddy.common.cache.CompactRedisSerializer;
+import com.petbuddy.social_feed.dto.UserDTO;
+import com.petbuddy.social_feed.entity.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -16,16 +21,31 @@ import org.springframework.data.redis.serializer.RedisSerializationContext.Seria
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${cache.redis.compression-threshold-bytes:1024}")
+    private int compressionThreshold;
+
+    /**
+     * The only CacheManager in this service. Caches without their own configuration
+     * ("idempotency" among them) use the JSON default.
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
         RedisCacheConfiguration defaultCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(5))
                 .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
 
+        // Caches with a known value type store compact binary values
+        RedisCacheConfiguration usersConfiguration = defaultCacheConfiguration.serializeValuesWith(
+                SerializationPair.fromSerializer(new CompactRedisSerializer<>("users",
+                        CompactRedisSerializer.typeOf(UserDTO.class), compressionThreshold, meterRegistry)));
+        RedisCacheConfiguration userPostsConfiguration = defaultCacheConfiguration.serializeValuesWith(
+                SerializationPair.fromSerializer(new CompactRedisSerializer<>("user-posts",
+                        CompactRedisSerializer.typeOf(Post.class), compressionThreshold, meterRegistry)));
+
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultCacheConfiguration)
-                .withCacheConfiguration("users", defaultCacheConfiguration.entryTtl(Duration.ofMinutes(10)))
-                .withCacheConfiguration("user-posts", defaultCacheConfiguration.entryTtl(Duration.ofMinutes(5)))
+                .withCacheConfiguration("users", usersConfiguration.entryTtl(Duration.ofMinutes(10)))
+                .withCacheConfiguration("user-posts", userPostsConfiguration.entryTtl(Duration.ofMinutes(5)))
                 .build();
     }
     
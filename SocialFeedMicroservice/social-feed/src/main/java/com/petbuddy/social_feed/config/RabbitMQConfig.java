@@ -1,23 +1,33 @@
 package com.petbuddy.social_feed.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.UUID;
+
 @Configuration
+@Slf4j
 public class RabbitMQConfig {
 
     // Exchanges
     public static final String POST_EXCHANGE = "post-exchange";
-    public static final String ENGAGEMENT_EXCHANGE = "engagement-exchange";
+    // published by the interaction service
+    public static final String ENGAGEMENT_EXCHANGE = "interaction.events";
     public static final String WEBSOCKET_EXCHANGE = "websocket-exchange";
 
     // Queues
     public static final String Q_POST_CREATED = "q.post.created";
     public static final String Q_POST_DELETED = "q.post.deleted";
+    public static final String Q_POST_CREATED_HASHTAGS = "q.post.created.hashtags";
     public static final String Q_ENGAGEMENT_LIKE = "q.engagement.like";
     public static final String Q_ENGAGEMENT_COMMENT = "q.engagement.comment";
     public static final String Q_WEBSOCKET_BROADCAST = "q.websocket.broadcast";
@@ -25,8 +35,11 @@ public class RabbitMQConfig {
     // Routing keys
     public static final String RK_POST_CREATED = "post.created";
     public static final String RK_POST_DELETED = "post.deleted";
-    public static final String RK_ENGAGEMENT_LIKE = "engagement.like.*";
-    public static final String RK_ENGAGEMENT_COMMENT = "engagement.comment.created";
+    public static final String RK_ENGAGEMENT_LIKE = "like.*";
+    public static final String RK_ENGAGEMENT_COMMENT = "comment.*";
+    public static final String RK_WEBSOCKET_USER = "user.";
+    public static final String RK_WEBSOCKET_GEO = "geo.";
+    public static final String RK_WEBSOCKET_POST = "post.";
 
     @Bean
     public TopicExchange postExchange() {
@@ -53,6 +66,11 @@ public class RabbitMQConfig {
         return new Queue(Q_POST_DELETED, true);
     }
 
+    @Bean
+    public Queue postCreatedHashtagsQueue() {
+        return new Queue(Q_POST_CREATED_HASHTAGS, true);
+    }
+
     @Bean
     public Queue engagementLikeQueue() {
         return new Queue(Q_ENGAGEMENT_LIKE, true);
@@ -64,8 +82,13 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Queue websocketBroadcastQueue() {
-        return new Queue(Q_WEBSOCKET_BROADCAST, true);
+    public Queue websocketBroadcastQueue(@Value("${websocket.broker.mode:simple}") String brokerMode) {
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // the STOMP relay delivers to every node, so one consumer per event is enough
+            return new Queue(Q_WEBSOCKET_BROADCAST, true);
+        }
+        // simple broker: each node needs its own copy to reach its local sessions
+        return new Queue(Q_WEBSOCKET_BROADCAST + "." + UUID.randomUUID(), false, true, true);
     }
 
     @Bean
@@ -78,6 +101,12 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(postDeletedQueue).to(postExchange).with(RK_POST_DELETED);
     }
 
+    @Bean
+    public Binding bindPostCreatedHashtags(Queue postCreatedHashtagsQueue, TopicExchange postExchange) {
+        // own queue so hashtag indexing sees every post.created alongside feed distribution
+        return BindingBuilder.bind(postCreatedHashtagsQueue).to(postExchange).with(RK_POST_CREATED);
+    }
+
     @Bean
     public Binding bindEngagementLike(Queue engagementLikeQueue, TopicExchange engagementExchange) {
         return BindingBuilder.bind(engagementLikeQueue).to(engagementExchange).with(RK_ENGAGEMENT_LIKE);
@@ -90,7 +119,28 @@ public class RabbitMQConfig {
 
     @Bean
     public Binding bindWebsocketBroadcast(Queue websocketBroadcastQueue, TopicExchange websocketExchange) {
-        // use a fanout-like behavior by binding with "#" so all messages sent to this exchange are received
+        // bind with "#" so every routing key (user.*, geo.*, broadcast) reaches the router
         return BindingBuilder.bind(websocketBroadcastQueue).to(websocketExchange).with("#");
     }
+
+    /**
+     * Before per-node queues, simple mode also consumed the shared durable broadcast queue.
+     * Nothing consumes it in simple mode any more, but it stays bound with "#" and would fill
+     * up with every WebSocket event, so delete it on startup. Only deleted while it has no
+     * consumers, so a node still running in relay mode keeps it.
+     */
+    @Bean
+    public ApplicationRunner removeSharedWebsocketBroadcastQueue(AmqpAdmin amqpAdmin,
+            @Value("${websocket.broker.mode:simple}") String brokerMode) {
+        return args -> {
+            if ("relay".equalsIgnoreCase(brokerMode)) {
+                return;
+            }
+            try {
+                amqpAdmin.deleteQueue(Q_WEBSOCKET_BROADCAST, true, false);
+            } catch (AmqpException e) {
+                log.warn("Could not delete the unused {} queue: {}", Q_WEBSOCKET_BROADCAST, e.getMessage());
+            }
+        };
+    }
 }
@@ -1,23 +1,125 @@
 package com.petbuddy.social_feed.config;
 
+import com.petbuddy.social_feed.websocket.GatewayUserHandshakeHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * STOMP over WebSocket.
+ *
+ * Destinations:
+ * - /user/queue/feed - events for the connected user (principal from the gateway's X-User-Id
+ *   header on the handshake request; X-User-Id on STOMP frames is ignored)
+ * - /topic/feed.geo.{cell} - events for a geohash cell
+ * - /topic/post.{postId} - live like/comment count deltas, at most one per window per post
+ * - /topic/feed/all - legacy broadcast
+ *
+ * websocket.broker.mode=simple keeps subscriptions in memory on each node; relay forwards
+ * them to RabbitMQ's STOMP plugin so any node can deliver to any session, and shares the
+ * user registry between nodes.
+ *
+ * Slow consumers: a session whose send buffer or send time exceeds its limits is closed.
+ * When the outbound channel itself is saturated the oldest queued message is dropped.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.outbound.pool-size:8}")
+    private int outboundPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    private final Counter outboundDropped;
+
+    public WebSocketConfig(MeterRegistry meterRegistry) {
+        this.outboundDropped = Counter.builder("social_feed.websocket.outbound.dropped")
+                .description("WebSocket messages dropped because the outbound channel was full")
+                .register(meterRegistry);
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if (isRelayMode()) {
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setUserRegistryBroadcast("/topic/simp-user-registry")
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
-        registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
+        registry.addEndpoint("/ws")
+                .setHandshakeHandler(new GatewayUserHandshakeHandler())
+                .setAllowedOriginPatterns("*")
+                .withSockJS();
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(outboundPoolSize);
+        executor.setMaxPoolSize(outboundPoolSize);
+        executor.setQueueCapacity(outboundQueueCapacity);
+        executor.setThreadNamePrefix("ws-outbound-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            outboundDropped.increment();
+            new ThreadPoolExecutor.DiscardOldestPolicy().rejectedExecution(task, pool);
+        });
+        executor.initialize();
+        registration.taskExecutor(executor);
+    }
+
+    public boolean isRelayMode() {
+        return "relay".equalsIgnoreCase(brokerMode);
     }
 }
@@ -0,0 +1,52 @@
+package com.petbuddy.social_feed.consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petbuddy.social_feed.config.RabbitMQConfig;
+import com.petbuddy.social_feed.service.EngagementCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds like and comment events from the interaction service into the live counters
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EngagementConsumer {
+
+    private final EngagementCounterService engagementCounterService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = { RabbitMQConfig.Q_ENGAGEMENT_LIKE, RabbitMQConfig.Q_ENGAGEMENT_COMMENT })
+    public void onEngagement(Message message) {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        long likes = 0;
+        long comments = 0;
+        switch (routingKey) {
+            case "like.created" -> likes = 1;
+            case "like.deleted" -> likes = -1;
+            case "comment.added" -> comments = 1;
+            case "comment.deleted" -> comments = -1;
+            default -> {
+                return;
+            }
+        }
+
+        JsonNode postId;
+        try {
+            postId = objectMapper.readTree(message.getBody()).get("postId");
+        } catch (Exception e) {
+            log.error("Dropping unreadable {} event: {}", routingKey, e.getMessage());
+            return;
+        }
+        if (postId == null || !postId.canConvertToLong()) {
+            return;
+        }
+
+        engagementCounterService.record(postId.asLong(), likes, comments);
+    }
+}
@@ -0,0 +1,44 @@
+package com.petbuddy.social_feed.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petbuddy.social_feed.config.RabbitMQConfig;
+import com.petbuddy.social_feed.dto.PostDTO;
+import com.petbuddy.social_feed.service.HashtagIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes hashtags of newly created posts and feeds the trending counts from the
+ * post.created stream.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HashtagIndexConsumer {
+
+    private final HashtagIndexService hashtagIndexService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = RabbitMQConfig.Q_POST_CREATED_HASHTAGS)
+    public void onPostCreated(Message message) {
+        PostDTO post;
+        try {
+            post = objectMapper.readValue(message.getBody(), PostDTO.class);
+        } catch (Exception e) {
+            // Malformed events would be redelivered forever; drop them
+            log.error("Dropping unreadable post.created event {}: {}",
+                    message.getMessageProperties().getMessageId(), e.getMessage());
+            return;
+        }
+
+        if (post.getPostId() == null || post.getHashtags() == null || post.getHashtags().isEmpty()) {
+            return;
+        }
+
+        long createdAt = post.getCreatedAt() != null ? post.getCreatedAt().toEpochMilli() : System.currentTimeMillis();
+        hashtagIndexService.indexPost(post.getPostId(), post.getHashtags(), createdAt);
+    }
+}
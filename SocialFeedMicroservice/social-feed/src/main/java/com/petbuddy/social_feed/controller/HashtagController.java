@@ -0,0 +1,92 @@
+package com.petbuddy.social_feed.controller;
+
+import com.petbuddy.social_feed.dto.HashtagPostsResponse;
+import com.petbuddy.social_feed.dto.PostDTO;
+import com.petbuddy.social_feed.dto.TrendingHashtagDTO;
+import com.petbuddy.social_feed.service.ContentProcessor;
+import com.petbuddy.social_feed.service.HashtagIndexService;
+import com.petbuddy.social_feed.service.HashtagIndexService.HashtagCursor;
+import com.petbuddy.social_feed.service.HashtagIndexService.HashtagPage;
+import com.petbuddy.social_feed.service.PostService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/hashtags")
+@Slf4j
+@RequiredArgsConstructor
+public class HashtagController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final HashtagIndexService hashtagIndexService;
+    private final PostService postService;
+    private final ContentProcessor contentProcessor;
+
+    /**
+     * Posts for a hashtag, newest first. Pass nextCursor from the previous page as cursor.
+     */
+    @GetMapping("/{tag}/posts")
+    public ResponseEntity<HashtagPostsResponse> getPostsByHashtag(
+            @PathVariable String tag,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        HashtagCursor after;
+        try {
+            after = decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String hashtag = contentProcessor.normalizeHashtag(tag);
+        HashtagPage page = hashtagIndexService.getPostIds(hashtag.substring(1), after, limit);
+        List<PostDTO> posts = postService.getPostsByIds(page.postIds());
+
+        return ResponseEntity.ok(HashtagPostsResponse.builder()
+                .hashtag(hashtag)
+                .posts(posts)
+                .nextCursor(encodeCursor(page.next()))
+                .build());
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingHashtagDTO>> getTrending(
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<TrendingHashtagDTO> trending = hashtagIndexService.getTrending(limit).stream()
+                .map(tag -> TrendingHashtagDTO.builder()
+                        .hashtag(tag.hashtag())
+                        .score(tag.score())
+                        .build())
+                .toList();
+        return ResponseEntity.ok(trending);
+    }
+
+    private static String encodeCursor(HashtagCursor cursor) {
+        return cursor != null ? cursor.createdAtMillis() + "_" + cursor.postId() : null;
+    }
+
+    private static HashtagCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separator = cursor.indexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        // NumberFormatException is an IllegalArgumentException
+        return new HashtagCursor(Long.parseLong(cursor.substring(0, separator)),
+                Long.valueOf(cursor.substring(separator + 1)));
+    }
+}
@@ -20,7 +20,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @RestController
-@RequestMapping("/api/v1/posts")
+// /api/posts serves the internal batch reads used by feed distribution
+@RequestMapping({"/api/v1/posts", "/api/posts"})
 @Validated
 @Slf4j
 @RequiredArgsConstructor
@@ -29,6 +30,8 @@ public class PostController {
     private final PostService postService;
     private final MediaService mediaService;
 
+    private static final int MAX_BATCH_SIZE = 200;
+
     @PostMapping("/presigned-urls")
     public ResponseEntity<List<PresignedUrlResponse>> getUploadUrls(@RequestBody List<FileMetadataRequest> files) {
         List<PresignedUrlResponse> responses = files.stream()
@@ -67,4 +70,23 @@ public class PostController {
         postService.deletePost(userId, postId);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<PostDTO>> getPostsByIds(@RequestParam("ids") List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(postService.getPostsByIds(ids));
+    }
+
+    @GetMapping("/celebrity/recent")
+    public ResponseEntity<List<PostDTO>> getRecentPostsByUsers(
+            @RequestParam("userIds") List<Long> userIds,
+            @RequestParam(value = "before", required = false) Long before,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (userIds.size() > MAX_BATCH_SIZE || limit < 1 || limit > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(postService.getRecentPostsByUsers(userIds, before, limit));
+    }
 }
@@ -0,0 +1,22 @@
+package com.petbuddy.social_feed.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change in a post's like and comment counts over one aggregation window, pushed to
+ * /topic/post.{postId}. Zero deltas are left out of the JSON.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class EngagementDeltaDTO {
+    private Long postId;
+    private long likes;
+    private long comments;
+}
@@ -0,0 +1,19 @@
+package com.petbuddy.social_feed.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HashtagPostsResponse {
+    private String hashtag;
+    private List<PostDTO> posts;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
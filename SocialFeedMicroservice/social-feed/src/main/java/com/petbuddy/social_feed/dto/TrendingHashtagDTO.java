@@ -0,0 +1,16 @@
+package com.petbuddy.social_feed.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingHashtagDTO {
+    private String hashtag;
+    // Post count with exponential decay (see hashtag.trending.half-life-hours)
+    private double score;
+}
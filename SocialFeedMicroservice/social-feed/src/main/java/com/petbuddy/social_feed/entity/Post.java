@@ -10,7 +10,9 @@ import java.time.Instant;
 import java.util.List;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import com.petbuddy.social_feed.enums.MediaType;
 import com.petbuddy.social_feed.enums.MediaVisibility;
@@ -18,7 +20,9 @@ import com.petbuddy.social_feed.enums.PostStatus;
 
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_created", columnList = "userId, createdAt")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -40,28 +44,28 @@ public class Post {
     @Column(length = 2200)
     private String contentText;
     
-    @ElementCollection
-    @CollectionTable(name = "post_media_urls", joinColumns = @JoinColumn(name = "post_id"))
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "media_urls", columnDefinition = "text[]")
     private List<String> mediaUrls;
 
-    @ElementCollection
-    @CollectionTable(name = "post_thumbnail_urls", joinColumns = @JoinColumn(name = "post_id"))
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "thumbnail_urls", columnDefinition = "text[]")
     private List<String> thumbnailUrls; 
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private MediaType mediaType;
     
-    @ElementCollection
-    @CollectionTable(name = "post_hashtags", joinColumns = @JoinColumn(name = "post_id"))
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "hashtags", columnDefinition = "text[]")
     private List<String> hashtags;
     
-    @ElementCollection
-    @CollectionTable(name = "post_mentions", joinColumns = @JoinColumn(name = "post_id"))
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "mentions", columnDefinition = "text[]")
     private List<String> mentions;
     
-    @ElementCollection
-    @CollectionTable(name = "post_mentioned_user_ids", joinColumns = @JoinColumn(name = "post_id"))
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "mentioned_user_ids", columnDefinition = "bigint[]")
     private List<Long> mentionedUserIds;
     
     private Double latitude;
@@ -2,15 +2,33 @@ package com.petbuddy.social_feed.repository;
 
 import com.petbuddy.social_feed.entity.Post;
 import com.petbuddy.social_feed.enums.PostStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findByAuthorIdInOrderByCreatedAtDesc(List<Long> authorIds);
-    
+
     Optional<Post> findByPostIdAndStatus(Long postId, PostStatus status);
+
+    List<Post> findByPostIdInAndStatus(Collection<Long> postIds, PostStatus status);
+
+    @Query("SELECT p.postId FROM Post p WHERE p.userId IN :userIds AND p.status = :status ORDER BY p.createdAt DESC")
+    List<Long> findRecentPostIdsByUserIds(@Param("userIds") Collection<Long> userIds,
+            @Param("status") PostStatus status,
+            Pageable limit);
+
+    @Query("SELECT p.postId FROM Post p WHERE p.userId IN :userIds AND p.status = :status AND p.createdAt < :before " +
+            "ORDER BY p.createdAt DESC")
+    List<Long> findRecentPostIdsByUserIdsBefore(@Param("userIds") Collection<Long> userIds,
+            @Param("status") PostStatus status,
+            @Param("before") Instant before,
+            Pageable limit);
 }
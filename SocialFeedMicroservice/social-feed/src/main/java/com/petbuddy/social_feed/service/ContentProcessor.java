@@ -0,0 +1,152 @@
+package com.petbuddy.social_feed.service;
+
+import com.petbuddy.social_feed.enums.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass tokenizer for post text.
+ *
+ * One scan over the content collects hashtags, mentions, URLs and the emoji count; no
+ * regular expressions are compiled or run. Tags and mentions must start a token (start
+ * of text or after a non-word character), so e-mail addresses are not read as mentions.
+ * Hashtags are normalized to lower case; mentions keep the username as written.
+ *
+ * Media URLs are classified by file extension through a lookup table.
+ */
+@Component
+public class ContentProcessor {
+
+    private static final Map<String, MediaType> MEDIA_TYPE_BY_EXTENSION = Map.of(
+            "jpg", MediaType.IMAGE,
+            "jpeg", MediaType.IMAGE,
+            "png", MediaType.IMAGE,
+            "gif", MediaType.IMAGE,
+            "webp", MediaType.IMAGE,
+            "mp4", MediaType.VIDEO,
+            "mov", MediaType.VIDEO,
+            "avi", MediaType.VIDEO,
+            "webm", MediaType.VIDEO);
+
+    public ParsedContent parse(String content) {
+        if (content == null || content.isEmpty()) {
+            return ParsedContent.EMPTY;
+        }
+
+        Set<String> hashtags = new LinkedHashSet<>();
+        Set<String> mentions = new LinkedHashSet<>();
+        List<String> urls = new ArrayList<>();
+        int emojiCount = 0;
+
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            char c = content.charAt(i);
+            boolean tokenStart = i == 0 || !isWordChar(content.charAt(i - 1));
+
+            if ((c == '#' || c == '@') && tokenStart) {
+                int end = i + 1;
+                while (end < length && isWordChar(content.charAt(end))) {
+                    end++;
+                }
+                if (end > i + 1) {
+                    if (c == '#') {
+                        hashtags.add(normalizeHashtag(content.substring(i, end)));
+                    } else {
+                        mentions.add(content.substring(i, end));
+                    }
+                    i = end;
+                    continue;
+                }
+            } else if (c == 'h' && tokenStart && startsWithUrlScheme(content, i)) {
+                int end = i;
+                while (end < length && !Character.isWhitespace(content.charAt(end))) {
+                    end++;
+                }
+                urls.add(content.substring(i, end));
+                i = end;
+                continue;
+            } else if (c >= 0x2000) {
+                int codePoint = content.codePointAt(i);
+                if (isEmoji(codePoint)) {
+                    emojiCount++;
+                }
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            i++;
+        }
+
+        return new ParsedContent(hashtags, mentions, urls, emojiCount);
+    }
+
+    /**
+     * Hashtags are stored as "#tag" in lower case
+     */
+    public String normalizeHashtag(String hashtag) {
+        String tag = hashtag.startsWith("#") ? hashtag : "#" + hashtag;
+        return tag.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Media type of a set of URLs: BOTH if images and videos are mixed; anything that is
+     * not a known video counts as an image
+     */
+    public MediaType classifyMedia(List<String> mediaUrls) {
+        boolean hasImage = false;
+        boolean hasVideo = false;
+        for (String url : mediaUrls) {
+            MediaType type = mediaTypeOf(url);
+            if (type == MediaType.VIDEO) {
+                hasVideo = true;
+            } else if (type == MediaType.IMAGE) {
+                hasImage = true;
+            }
+        }
+        if (hasImage && hasVideo) return MediaType.BOTH;
+        if (hasVideo) return MediaType.VIDEO;
+        return MediaType.IMAGE;
+    }
+
+    /**
+     * Media type for a URL by its file extension (query and fragment ignored), or null if unknown
+     */
+    public MediaType mediaTypeOf(String url) {
+        int end = url.length();
+        int query = url.indexOf('?');
+        if (query >= 0) end = query;
+        int fragment = url.indexOf('#');
+        if (fragment >= 0 && fragment < end) end = fragment;
+
+        int dot = url.lastIndexOf('.', end - 1);
+        int slash = url.lastIndexOf('/', end - 1);
+        if (dot < 0 || dot < slash || dot == end - 1) {
+            return null;
+        }
+        return MEDIA_TYPE_BY_EXTENSION.get(url.substring(dot + 1, end).toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean startsWithUrlScheme(String content, int i) {
+        return content.startsWith("https://", i) || content.startsWith("http://", i);
+    }
+
+    private static boolean isEmoji(int codePoint) {
+        return (codePoint >= 0x1F300 && codePoint <= 0x1FAFF) // pictographs, emoticons, transport, supplemental
+                || (codePoint >= 0x2600 && codePoint <= 0x27BF) // misc symbols, dingbats
+                || (codePoint >= 0x1F1E6 && codePoint <= 0x1F1FF); // regional indicators (flags)
+    }
+
+    public record ParsedContent(Set<String> hashtags, Set<String> mentions, List<String> urls, int emojiCount) {
+        static final ParsedContent EMPTY = new ParsedContent(Set.of(), Set.of(), List.of(), 0);
+    }
+}
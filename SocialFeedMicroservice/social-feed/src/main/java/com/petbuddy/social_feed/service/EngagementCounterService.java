@@ -0,0 +1,183 @@
+package com.petbuddy.social_feed.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petbuddy.social_feed.config.RabbitMQConfig;
+import com.petbuddy.social_feed.dto.EngagementDeltaDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live like/comment counters.
+ *
+ * Cache Strategy:
+ * - engagement:live:{postId} - HASH l (likes), c (comments): deltas not yet pushed
+ * - engagement:live:{postId}:window - set NX for one window (engagement.live.window-ms)
+ *   by the instance that pushes the post's update
+ *
+ * Events are summed per post in memory. Each window every instance adds its sums to the
+ * post's hash and tries to claim the window key; the claimant takes the whole hash and
+ * pushes one delta to websocket-exchange as post.{postId}. An instance that loses the
+ * claim retries the post next window, so across all instances a post emits at most one
+ * update per window whatever its event rate.
+ *
+ * Updates are best effort: if Redis is unavailable an instance pushes its own sums, and a
+ * failed push is dropped; clients catch up on refresh.
+ *
+ * Metrics: social_feed.engagement.events (consumed) vs social_feed.engagement.updates (pushed).
+ */
+@Service
+@Slf4j
+public class EngagementCounterService {
+
+    private static final String KEY_PREFIX = "engagement:live:";
+    private static final String WINDOW_SUFFIX = ":window";
+
+    private static final long NOTHING_PENDING = 0;
+    private static final long DEFERRED = 1;
+
+    /**
+     * KEYS[1] = delta hash, KEYS[2] = window key.
+     * ARGV[1] = likes, ARGV[2] = comments, ARGV[3] = window millis, ARGV[4] = hash ttl millis.
+     * Returns {0} if nothing is pending, {1} if another instance pushed within the window,
+     * or {2, likes, comments} with the claimed (and removed) delta.
+     */
+    private static final RedisScript<List> ADD_AND_CLAIM = new DefaultRedisScript<>("""
+            if tonumber(ARGV[1]) ~= 0 then
+                redis.call('HINCRBY', KEYS[1], 'l', ARGV[1])
+            end
+            if tonumber(ARGV[2]) ~= 0 then
+                redis.call('HINCRBY', KEYS[1], 'c', ARGV[2])
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return {0}
+            end
+            if not redis.call('SET', KEYS[2], '1', 'NX', 'PX', ARGV[3]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[4])
+                return {1}
+            end
+            local delta = redis.call('HMGET', KEYS[1], 'l', 'c')
+            redis.call('DEL', KEYS[1])
+            return {2, tonumber(delta[1] or '0'), tonumber(delta[2] or '0')}
+            """, List.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final long windowMs;
+    private final Map<Long, Delta> pending = new ConcurrentHashMap<>();
+    // Posts whose deltas are in Redis waiting for another instance's window to pass
+    private final Set<Long> deferred = ConcurrentHashMap.newKeySet();
+
+    private final Counter events;
+    private final Counter updates;
+
+    public EngagementCounterService(RabbitTemplate rabbitTemplate, StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${engagement.live.window-ms:1000}") long windowMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.windowMs = windowMs;
+        this.events = Counter.builder("social_feed.engagement.events")
+                .description("Like and comment events consumed for live counters")
+                .register(meterRegistry);
+        this.updates = Counter.builder("social_feed.engagement.updates")
+                .description("Live counter updates pushed to WebSocket subscribers")
+                .register(meterRegistry);
+    }
+
+    public void record(Long postId, long likes, long comments) {
+        events.increment();
+        pending.merge(postId, new Delta(likes, comments), Delta::plus);
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.live.window-ms:1000}")
+    public void flush() {
+        Set<Long> postIds = new HashSet<>(pending.keySet());
+        postIds.addAll(deferred);
+
+        for (Long postId : postIds) {
+            // remove() hands over the delta atomically; later events start a new one
+            Delta local = pending.remove(postId);
+            deferred.remove(postId);
+            Delta delta = claim(postId, local != null ? local : Delta.NONE);
+            if (delta == null || delta.isEmpty()) {
+                continue;
+            }
+            try {
+                rabbitTemplate.send(RabbitMQConfig.WEBSOCKET_EXCHANGE, RabbitMQConfig.RK_WEBSOCKET_POST + postId,
+                        toMessage(EngagementDeltaDTO.builder()
+                                .postId(postId)
+                                .likes(delta.likes())
+                                .comments(delta.comments())
+                                .build()));
+                updates.increment();
+            } catch (Exception e) {
+                log.warn("Failed to push engagement update for post {}: {}", postId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Add this instance's delta to the post's shared one and take the total if this instance
+     * wins the post's window; null if another instance pushed within the window
+     */
+    private Delta claim(Long postId, Delta local) {
+        try {
+            List<?> result = redisTemplate.execute(ADD_AND_CLAIM,
+                    List.of(KEY_PREFIX + postId, KEY_PREFIX + postId + WINDOW_SUFFIX),
+                    String.valueOf(local.likes()), String.valueOf(local.comments()),
+                    String.valueOf(windowMs), String.valueOf(windowMs * 10));
+            long status = ((Number) result.get(0)).longValue();
+            if (status == NOTHING_PENDING) {
+                return null;
+            }
+            if (status == DEFERRED) {
+                deferred.add(postId);
+                return null;
+            }
+            return new Delta(((Number) result.get(1)).longValue(), ((Number) result.get(2)).longValue());
+        } catch (Exception e) {
+            log.debug("Shared engagement delta unavailable for post {}, pushing local delta: {}", postId, e.getMessage());
+            return local;
+        }
+    }
+
+    private Message toMessage(EngagementDeltaDTO update) throws JsonProcessingException {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setDeliveryMode(MessageDeliveryMode.NON_PERSISTENT);
+        return new Message(objectMapper.writeValueAsBytes(update), properties);
+    }
+
+    private record Delta(long likes, long comments) {
+
+        static final Delta NONE = new Delta(0, 0);
+
+        Delta plus(Delta other) {
+            return new Delta(likes + other.likes, comments + other.comments);
+        }
+
+        boolean isEmpty() {
+            return likes == 0 && comments == 0;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.petbuddy.social_feed.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Hashtag -> posts inverted index and trending hashtags, both in Redis.
+ *
+ * Cache Strategy:
+ * - hashtag:posts:{tag} - ZSET postId -> createdAt epoch millis, newest maxPostsPerTag kept
+ * - hashtag:trending - ZSET tag -> exponentially decayed post count
+ * - hashtag:trending:epoch - reference time (epoch millis) of the trending scores
+ *
+ * Trending scores are stored relative to the epoch: a post at time t adds
+ * e^((t - epoch) / tau), which ranks identically to a count decayed to "now" without
+ * touching every member on each update. A periodic rebase scales all scores to a new
+ * epoch (one ZUNIONSTORE) so they stay in double range, and drops negligible tags.
+ * Increments and rebase are Lua scripts, so they never interleave.
+ *
+ * Tags are stored without the leading '#', in the normalized (lower case) form.
+ */
+@Service
+@Slf4j
+public class HashtagIndexService {
+
+    private static final String POSTS_KEY_PREFIX = "hashtag:posts:";
+    private static final String TRENDING_KEY = "hashtag:trending";
+    private static final String TRENDING_EPOCH_KEY = "hashtag:trending:epoch";
+
+    // Tags whose decayed count falls below this are dropped on rebase
+    private static final double MIN_TRENDING_SCORE = 0.01;
+
+    /**
+     * KEYS[1] = trending, KEYS[2] = epoch; ARGV[1] = event time, ARGV[2] = tau millis, ARGV[3..] = tags
+     */
+    private static final RedisScript<Long> TRENDING_INCREMENT = new DefaultRedisScript<>("""
+            local epoch = tonumber(redis.call('GET', KEYS[2]))
+            if not epoch then
+                epoch = tonumber(ARGV[1])
+                redis.call('SET', KEYS[2], ARGV[1])
+            end
+            local weight = math.exp((tonumber(ARGV[1]) - epoch) / tonumber(ARGV[2]))
+            for i = 3, #ARGV do
+                redis.call('ZINCRBY', KEYS[1], weight, ARGV[i])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] = trending, KEYS[2] = epoch; ARGV[1] = now, ARGV[2] = tau millis, ARGV[3] = min score
+     */
+    private static final RedisScript<Long> TRENDING_REBASE = new DefaultRedisScript<>("""
+            local epoch = tonumber(redis.call('GET', KEYS[2]))
+            if not epoch then
+                return 0
+            end
+            local factor = math.exp((epoch - tonumber(ARGV[1])) / tonumber(ARGV[2]))
+            redis.call('ZUNIONSTORE', KEYS[1], 1, KEYS[1], 'WEIGHTS', tostring(factor))
+            redis.call('SET', KEYS[2], ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long maxPostsPerTag;
+    private final double tauMillis;
+
+    public HashtagIndexService(StringRedisTemplate redisTemplate,
+            @Value("${hashtag.index.max-posts-per-tag:10000}") long maxPostsPerTag,
+            @Value("${hashtag.trending.half-life-hours:6}") double halfLifeHours) {
+        this.redisTemplate = redisTemplate;
+        this.maxPostsPerTag = maxPostsPerTag;
+        // Mean lifetime from half-life: tau = t½ / ln 2
+        this.tauMillis = Duration.ofHours(1).toMillis() * halfLifeHours / Math.log(2);
+    }
+
+    /**
+     * Index a new post under its hashtags and count it towards trending. A redelivered
+     * event finds the post already indexed and is not counted again.
+     */
+    public void indexPost(Long postId, Collection<String> hashtags, long createdAtMillis) {
+        List<String> tags = toTags(hashtags);
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        String member = postId.toString();
+        List<Object> added = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String tag : tags) {
+                    ops.opsForZSet().add(postsKey(tag), member, createdAtMillis);
+                }
+                for (String tag : tags) {
+                    ops.opsForZSet().removeRange(postsKey(tag), 0, -(maxPostsPerTag + 1));
+                }
+                return null;
+            }
+        });
+
+        List<String> newTags = new ArrayList<>(tags.size());
+        for (int i = 0; i < tags.size(); i++) {
+            if (Boolean.TRUE.equals(added.get(i))) {
+                newTags.add(tags.get(i));
+            }
+        }
+        if (newTags.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(newTags.size() + 2);
+        args.add(Long.toString(createdAtMillis));
+        args.add(Double.toString(tauMillis));
+        args.addAll(newTags);
+        redisTemplate.execute(TRENDING_INCREMENT, List.of(TRENDING_KEY, TRENDING_EPOCH_KEY), args.toArray());
+    }
+
+    /**
+     * Remove a post from its hashtags once the surrounding transaction commits
+     */
+    public void removePostAfterCommit(Long postId, Collection<String> hashtags) {
+        List<String> tags = toTags(hashtags);
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        Runnable remove = () -> {
+            try {
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Object execute(RedisOperations operations) {
+                        RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                        tags.forEach(tag -> ops.opsForZSet().remove(postsKey(tag), postId.toString()));
+                        return null;
+                    }
+                });
+            } catch (Exception e) {
+                log.warn("Failed to remove post {} from hashtag index: {}", postId, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove.run();
+                }
+            });
+        } else {
+            remove.run();
+        }
+    }
+
+    /**
+     * Keyset page of post ids for a tag, newest first. The cursor is the last entry of the
+     * previous page; entries sharing its timestamp are ordered by member, as Redis does.
+     */
+    public HashtagPage getPostIds(String tag, HashtagCursor cursor, int limit) {
+        String key = postsKey(tag);
+        double max = cursor != null ? cursor.createdAtMillis() : Double.POSITIVE_INFINITY;
+        // Over-fetch by the entries that share the cursor's timestamp, some of which were on the last page
+        long overlap = cursor != null ? countAt(key, cursor.createdAtMillis()) : 0;
+
+        Set<TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, max, 0, limit + overlap);
+
+        List<Long> postIds = new ArrayList<>(limit);
+        HashtagCursor next = null;
+        if (entries != null) {
+            for (TypedTuple<String> entry : entries) {
+                long score = entry.getScore().longValue();
+                String member = entry.getValue();
+                if (cursor != null && score == cursor.createdAtMillis()
+                        && member.compareTo(cursor.postId().toString()) >= 0) {
+                    continue;
+                }
+                if (postIds.size() == limit) {
+                    break;
+                }
+                postIds.add(Long.valueOf(member));
+                next = new HashtagCursor(score, Long.valueOf(member));
+            }
+        }
+
+        return new HashtagPage(postIds, postIds.size() == limit ? next : null);
+    }
+
+    /**
+     * Top trending tags with their decayed post counts as of now
+     */
+    public List<TrendingTag> getTrending(int limit) {
+        Set<TypedTuple<String>> entries = redisTemplate.opsForZSet().reverseRangeWithScores(TRENDING_KEY, 0, limit - 1);
+        String epoch = redisTemplate.opsForValue().get(TRENDING_EPOCH_KEY);
+        if (entries == null || entries.isEmpty() || epoch == null) {
+            return List.of();
+        }
+
+        double scale = Math.exp((System.currentTimeMillis() - Long.parseLong(epoch)) / tauMillis);
+        return entries.stream()
+                .map(entry -> new TrendingTag("#" + entry.getValue(), entry.getScore() / scale))
+                .toList();
+    }
+
+    /**
+     * Move trending scores to the current time as epoch and drop tags that have decayed away.
+     * Safe to run on every instance; a second rebase right after the first is a no-op scale.
+     */
+    @Scheduled(cron = "${hashtag.trending.rebase-cron:0 */15 * * * *}")
+    public void rebaseTrending() {
+        redisTemplate.execute(TRENDING_REBASE, List.of(TRENDING_KEY, TRENDING_EPOCH_KEY),
+                Long.toString(System.currentTimeMillis()),
+                Double.toString(tauMillis),
+                Double.toString(MIN_TRENDING_SCORE));
+    }
+
+    private long countAt(String key, long createdAtMillis) {
+        Long count = redisTemplate.opsForZSet().count(key, createdAtMillis, createdAtMillis);
+        return count != null ? count : 0;
+    }
+
+    private static List<String> toTags(Collection<String> hashtags) {
+        if (hashtags == null) {
+            return List.of();
+        }
+        return hashtags.stream()
+                .map(tag -> (tag.startsWith("#") ? tag.substring(1) : tag).toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String postsKey(String tag) {
+        return POSTS_KEY_PREFIX + tag;
+    }
+
+    public record HashtagCursor(long createdAtMillis, Long postId) {
+    }
+
+    public record HashtagPage(List<Long> postIds, HashtagCursor next) {
+    }
+
+    public record TrendingTag(String hashtag, double score) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.petbuddy.social_feed.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Polls the outbox and publishes pending events in batches. Safe to run on every
+ * instance: batches are claimed with FOR UPDATE SKIP LOCKED.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            // Keep draining while full batches come back
+            int published;
+            do {
+                published = outboxService.publishBatch(batchSize);
+            } while (published == batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, pending events will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop published events past the retention window, hourly
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void purgePublished() {
+        int deleted = outboxService.deletePublishedBefore(Instant.now().minus(Duration.ofHours(retentionHours)));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+}
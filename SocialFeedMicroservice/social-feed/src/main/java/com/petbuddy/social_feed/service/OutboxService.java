@@ -0,0 +1,130 @@
+package com.petbuddy.social_feed.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petbuddy.social_feed.entity.OutboxEvent;
+import com.petbuddy.social_feed.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional outbox for domain events.
+ *
+ * enqueue() stores the event in the caller's transaction, so an event exists if and only
+ * if its change committed, and the request thread never waits on the broker.
+ * publishBatch() is driven by OutboxRelay: it locks a batch of unpublished rows, sends
+ * them on one channel and waits for publisher confirms before marking them published.
+ * A failed batch rolls back and is retried, so delivery is at-least-once; the event id
+ * travels as the AMQP message id for consumer-side dedup.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    public static final String EVENT_ID_HEADER = "x-event-id";
+    public static final String AGGREGATE_ID_HEADER = "x-aggregate-id";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final long confirmTimeoutMs;
+
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+            RabbitTemplate rabbitTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.published = Counter.builder("social_feed.outbox.published")
+                .description("Outbox events published and confirmed by the broker")
+                .register(meterRegistry);
+        this.failures = Counter.builder("social_feed.outbox.failures")
+                .description("Outbox batches that failed to publish and will be retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record an event in the current transaction
+     */
+    public void enqueue(String exchange, String routingKey, Object aggregateId, Object payload) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .eventId(UUID.randomUUID())
+                    .exchange(exchange)
+                    .routingKey(routingKey)
+                    .aggregateId(aggregateId != null ? aggregateId.toString() : null)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize " + routingKey + " event", e);
+        }
+    }
+
+    /**
+     * Publish up to batchSize pending events
+     *
+     * @return number of events published
+     */
+    @Transactional
+    public int publishBatch(int batchSize) {
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxEvent event : events) {
+                    operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        }
+
+        outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), Instant.now());
+        published.increment(events.size());
+        return events.size();
+    }
+
+    @Transactional
+    public int deletePublishedBefore(Instant cutoff) {
+        return outboxEventRepository.deletePublishedBefore(cutoff);
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(event.getEventId().toString());
+        properties.setHeader(EVENT_ID_HEADER, event.getEventId().toString());
+        properties.setHeader(AGGREGATE_ID_HEADER, event.getAggregateId());
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setTimestamp(Date.from(event.getCreatedAt()));
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
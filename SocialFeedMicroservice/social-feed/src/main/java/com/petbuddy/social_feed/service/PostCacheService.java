@@ -0,0 +1,94 @@
+package com.petbuddy.social_feed.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petbuddy.social_feed.dto.PostDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-post cache of post bodies, keyed by postId, for batch reads.
+ *
+ * Cache Strategy:
+ * - post:{postId} - JSON PostDTO without author profile fields, TTL 5 minutes
+ *
+ * A batch is read with one MGET and misses are written back with one pipeline.
+ * Author profile fields are enriched per request and never cached here.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PostCacheService {
+
+    private static final String KEY_PREFIX = "post:";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Cached posts for the given ids; missing ids are absent from the map
+     */
+    public Map<Long, PostDTO> getAll(List<Long> postIds) {
+        Map<Long, PostDTO> cached = new HashMap<>();
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(postIds.stream().map(PostCacheService::key).toList());
+            if (values == null) {
+                return cached;
+            }
+            for (int i = 0; i < postIds.size(); i++) {
+                String json = values.get(i);
+                if (json != null) {
+                    cached.put(postIds.get(i), objectMapper.readValue(json, PostDTO.class));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read cached posts: {}", e.getMessage());
+        }
+        return cached;
+    }
+
+    public void putAll(Collection<PostDTO> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> entries = new HashMap<>();
+            for (PostDTO post : posts) {
+                entries.put(key(post.getPostId()), objectMapper.writeValueAsString(post));
+            }
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    entries.forEach((key, json) -> ops.opsForValue().set(key, json, TTL));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to cache posts: {}", e.getMessage());
+        }
+    }
+
+    public void evict(Long postId) {
+        try {
+            redisTemplate.delete(key(postId));
+        } catch (Exception e) {
+            log.warn("Failed to evict cached post {}: {}", postId, e.getMessage());
+        }
+    }
+
+    private static String key(Long postId) {
+        return KEY_PREFIX + postId;
+    }
+}
@@ -2,23 +2,42 @@ package com.petbuddy.social_feed.service;
 
 import com.petbuddy.social_feed.Client.UserProfileClient;
 import com.petbuddy.social_feed.dto.PostDTO;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Service for enriching posts with user profile information.
+ *
+ * User info comes from UserInfoCache (coalesced, refresh-ahead). Enrichment is bounded
+ * by enrichment.timeout-ms: if profiles cannot be loaded in time, posts are returned
+ * without author details rather than holding the request.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PostEnrichmentService {
 
-    private final UserProfileClient userProfileClient;
+    private final UserInfoCache userInfoCache;
+    private final long timeoutMs;
+    private final Timer latency;
+
+    public PostEnrichmentService(UserInfoCache userInfoCache,
+            MeterRegistry meterRegistry,
+            @Value("${enrichment.timeout-ms:800}") long timeoutMs) {
+        this.userInfoCache = userInfoCache;
+        this.timeoutMs = timeoutMs;
+        this.latency = Timer.builder("social_feed.enrichment.latency")
+                .description("Time to enrich a batch of posts with user info")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
 
     /**
      * Enrich a single post with user info
@@ -28,14 +47,7 @@ public class PostEnrichmentService {
             return post;
         }
 
-        userProfileClient.getUserInfo(post.getUserId().toString())
-                .ifPresent(userInfo -> {
-                    post.setUserFirstName(userInfo.getFirstName());
-                    post.setUserLastName(userInfo.getLastName());
-                    post.setUserAvatarUrl(userInfo.getAvatarUrl());
-                    post.setUserFollowersCount(userInfo.getFollowersCount());
-                });
-
+        enrichPosts(List.of(post));
         return post;
     }
 
@@ -59,8 +71,20 @@ public class PostEnrichmentService {
             return posts;
         }
 
-        // Batch fetch user info
-        Map<String, UserProfileClient.UserInfo> userInfoMap = userProfileClient.batchGetUserInfo(userIds);
+        long start = System.nanoTime();
+        Map<String, UserProfileClient.UserInfo> userInfoMap;
+        try {
+            userInfoMap = userInfoCache.getAll(userIds).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return posts;
+        } catch (Exception e) {
+            log.warn("User info unavailable for {} users, returning posts without author details: {}",
+                    userIds.size(), e.getMessage());
+            return posts;
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
 
         // Enrich each post
         for (PostDTO post : posts) {
@@ -8,6 +8,7 @@ import com.petbuddy.social_feed.dto.UserDTO;
 import com.petbuddy.social_feed.entity.Post;
 import com.petbuddy.social_feed.entity.ProcessedContent;
 import com.petbuddy.social_feed.enums.MediaType;
+import com.petbuddy.social_feed.enums.MediaVisibility;
 import com.petbuddy.social_feed.enums.PostStatus;
 import com.petbuddy.social_feed.repository.PostRepository;
 import com.petbuddy.social_feed.Client.UserServiceClient;
@@ -15,24 +16,26 @@ import com.petbuddy.social_feed.Exception.InvalidMediaTypeException;
 import com.petbuddy.social_feed.Exception.PostNotFoundException;
 import com.petbuddy.social_feed.Exception.UnauthorizedDeleteException;
 import com.petbuddy.social_feed.Exception.UserNotFoundException;
+import com.petbuddy.social_feed.service.ContentProcessor.ParsedContent;
+import ch.hsr.geohash.GeoHash;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,11 +44,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PostService {
 
+    // ~5 km cells for /topic/feed.geo.{cell}
+    private static final int GEO_CELL_PRECISION = 5;
+
     private final PostRepository postRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
     private final IdempotencyService idempotencyService;
     private final UserServiceClient userServiceClient;
     private final CacheManager cacheManager;
+    private final ContentProcessor contentProcessor;
+    private final PostCacheService postCacheService;
+    private final PostEnrichmentService postEnrichmentService;
+    private final HashtagIndexService hashtagIndexService;
 
     public PostDTO createPost(Long authorId, CreatePostDTO createPostDTO) {
 
@@ -76,16 +86,39 @@ public class PostService {
 
         PostDTO postDTO = convertToDTO(savedPost, user);
 
+        // Published by the outbox relay once this transaction commits
+        outboxService.enqueue(RabbitMQConfig.POST_EXCHANGE, RabbitMQConfig.RK_POST_CREATED, savedPost.getPostId(), postDTO);
+        enqueueLivePushes(savedPost, postDTO);
+
         if (StringUtils.hasText(createPostDTO.getIdempotencyKey())) {
             idempotencyService.storeResult(createPostDTO.getIdempotencyKey(), postDTO, Duration.ofHours(2));
-            return postDTO;
         }
 
-        rabbitTemplate.convertAndSend(RabbitMQConfig.POST_EXCHANGE, RabbitMQConfig.RK_POST_CREATED, postDTO);
-
         return postDTO;
     }
 
+    /**
+     * Live WebSocket pushes: public posts with a location go to their geohash cell,
+     * mentioned users get the post on their own destination.
+     */
+    private void enqueueLivePushes(Post post, PostDTO postDTO) {
+        if (post.getMediaVisibility() == MediaVisibility.PUBLIC
+                && post.getLatitude() != null && post.getLongitude() != null) {
+            String cell = GeoHash.geoHashStringWithCharacterPrecision(
+                    post.getLatitude(), post.getLongitude(), GEO_CELL_PRECISION);
+            outboxService.enqueue(RabbitMQConfig.WEBSOCKET_EXCHANGE, RabbitMQConfig.RK_WEBSOCKET_GEO + cell,
+                    post.getPostId(), postDTO);
+        }
+
+        if (post.getMentionedUserIds() != null) {
+            post.getMentionedUserIds().stream()
+                    .filter(userId -> !userId.equals(post.getUserId()))
+                    .distinct()
+                    .forEach(userId -> outboxService.enqueue(RabbitMQConfig.WEBSOCKET_EXCHANGE,
+                            RabbitMQConfig.RK_WEBSOCKET_USER + userId, post.getPostId(), postDTO));
+        }
+    }
+
     private void validateMedia(CreatePostDTO createPostDTO) {
         if (createPostDTO.getMediaUrls() != null && !createPostDTO.getMediaUrls().isEmpty()) {
             MediaType detectedType = detectMediaType(createPostDTO.getMediaUrls());
@@ -96,21 +129,17 @@ public class PostService {
     }
 
     private MediaType detectMediaType(List<String> mediaUrls) {
-        boolean hasImage = mediaUrls.stream().anyMatch(url -> 
-            url.matches(".*\\.(jpg|jpeg|png|gif|webp)$"));
-        boolean hasVideo = mediaUrls.stream().anyMatch(url -> 
-            url.matches(".*\\.(mp4|mov|avi|webm)$"));
-        if (hasImage && hasVideo) return MediaType.BOTH;
-        if (hasVideo) return MediaType.VIDEO;
-        return MediaType.IMAGE;
+        return contentProcessor.classifyMedia(mediaUrls);
     }
 
     private ProcessedContent processContent(CreatePostDTO createPostDTO) {
-        Set<String> extractedHashtags = extractHashtags(createPostDTO.getContentText());
-        Set<String> extractedMentions = extractMentions(createPostDTO.getContentText());
-        
-        Set<String> allHashtags = mergeCollections(extractedHashtags, createPostDTO.getHashtags());
-        Set<String> allMentions = mergeCollections(extractedMentions, createPostDTO.getMentions());
+        ParsedContent parsed = contentProcessor.parse(createPostDTO.getContentText());
+
+        Set<String> allHashtags = new LinkedHashSet<>(parsed.hashtags());
+        if (createPostDTO.getHashtags() != null) {
+            createPostDTO.getHashtags().forEach(tag -> allHashtags.add(contentProcessor.normalizeHashtag(tag)));
+        }
+        Set<String> allMentions = mergeCollections(parsed.mentions(), createPostDTO.getMentions());
         
         Set<Long> mentionedUserIds = resolveMentionedUsers(allMentions);
         
@@ -120,32 +149,6 @@ public class PostService {
                 .mentionedUserIds(mentionedUserIds)
                 .build();
     }
-
-    private Set<String> extractHashtags(String content) {
-        if (!StringUtils.hasText(content)) return Set.of();
-        
-        Pattern pattern = Pattern.compile("#(\\w+)");
-        Matcher matcher = pattern.matcher(content);
-        
-        Set<String> hashtags = new HashSet<>();
-        while (matcher.find()) {
-            hashtags.add(matcher.group());
-        }
-        return hashtags;
-    }
-    
-    private Set<String> extractMentions(String content) {
-        if (!StringUtils.hasText(content)) return Set.of();
-        
-        Pattern pattern = Pattern.compile("@(\\w+)");
-        Matcher matcher = pattern.matcher(content);
-        
-        Set<String> mentions = new HashSet<>();
-        while (matcher.find()) {
-            mentions.add(matcher.group());
-        }
-        return mentions;
-    }
     
     private Set<Long> resolveMentionedUsers(Set<String> mentions) {
         if (mentions.isEmpty()) return Set.of();
@@ -262,13 +265,78 @@ public class PostService {
     }
     
     private <T> Set<T> mergeCollections(Set<T> set1, List<T> list2) {
-        Set<T> result = new HashSet<>(set1);
+        Set<T> result = new LinkedHashSet<>(set1);
         if (list2 != null) {
             result.addAll(list2);
         }
         return result;
     }
 
+    /**
+     * Active posts by id, in request order. Bodies come from the per-post cache; misses are
+     * loaded in one query and written back. Unknown or deleted ids are skipped.
+     */
+    public List<PostDTO> getPostsByIds(List<Long> postIds) {
+        List<Long> ids = postIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, PostDTO> posts = postCacheService.getAll(ids);
+        List<Long> missing = ids.stream().filter(id -> !posts.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            List<PostDTO> loaded = postRepository.findByPostIdInAndStatus(missing, PostStatus.ACTIVE).stream()
+                    .map(this::toPostBody)
+                    .toList();
+            postCacheService.putAll(loaded);
+            loaded.forEach(post -> posts.put(post.getPostId(), post));
+        }
+
+        List<PostDTO> result = ids.stream().map(posts::get).filter(Objects::nonNull).toList();
+        return postEnrichmentService.enrichPosts(result);
+    }
+
+    /**
+     * Most recent active posts of the given users, optionally older than before (epoch millis)
+     */
+    public List<PostDTO> getRecentPostsByUsers(List<Long> userIds, Long before, int limit) {
+        if (userIds.isEmpty()) return List.of();
+
+        PageRequest page = PageRequest.of(0, limit);
+        List<Long> postIds = before == null
+                ? postRepository.findRecentPostIdsByUserIds(userIds, PostStatus.ACTIVE, page)
+                : postRepository.findRecentPostIdsByUserIdsBefore(userIds, PostStatus.ACTIVE, Instant.ofEpochMilli(before), page);
+        return getPostsByIds(postIds);
+    }
+
+    /**
+     * Post fields only; author profile fields are filled in by PostEnrichmentService
+     */
+    private PostDTO toPostBody(Post post) {
+        return PostDTO.builder()
+                .postId(post.getPostId())
+                .contentText(post.getContentText())
+                .mediaUrls(copy(post.getMediaUrls()))
+                .mediaType(post.getMediaType())
+                .hashtags(copy(post.getHashtags()))
+                .mentions(copy(post.getMentions()))
+                .latitude(post.getLatitude())
+                .longitude(post.getLongitude())
+                .locationName(post.getLocationName())
+                .mediaVisibility(post.getMediaVisibility())
+                .userId(post.getUserId())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .viewCount(post.getViewCount())
+                .likeCount(post.getLikeCount())
+                .commentCount(post.getCommentCount())
+                .urgency(post.getUrgency())
+                .channelId(post.getChannelId())
+                .build();
+    }
+
+    private static <T> List<T> copy(List<T> values) {
+        return values != null ? new ArrayList<>(values) : List.of();
+    }
+
     public DeletePostDTO deletePost(Long userId, Long postId) {
 
         Post post = postRepository.findByPostIdAndStatus(postId, PostStatus.ACTIVE)
@@ -281,8 +349,10 @@ public class PostService {
         post.setStatus(PostStatus.DELETED);
         postRepository.save(post);
 
-        rabbitTemplate.convertAndSend(RabbitMQConfig.POST_EXCHANGE, RabbitMQConfig.RK_POST_DELETED, postId);
+        outboxService.enqueue(RabbitMQConfig.POST_EXCHANGE, RabbitMQConfig.RK_POST_DELETED, postId, postId);
         evictUserCache(post);
+        postCacheService.evict(postId);
+        hashtagIndexService.removePostAfterCommit(postId, post.getHashtags());
 
 
         return DeletePostDTO.builder()
@@ -0,0 +1,102 @@
+package com.petbuddy.social_feed.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.petbuddy.social_feed.Client.UserProfileClient;
+import com.petbuddy.social_feed.Client.UserProfileClient.UserInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * In-process cache of user profile info for post enrichment.
+ *
+ * - Lookups for the same userId share one in-flight gRPC call, across requests
+ *   (single-flight): a key is loaded at most once until its future completes.
+ * - Misses of one getAll() are loaded with a single async batch call.
+ * - Entries are refreshed in the background once older than refresh-after, while the
+ *   stale value keeps being served (refresh-ahead); they expire after expire-after.
+ * - Unknown users are cached as empty, so they are not looked up on every request.
+ *
+ * Metrics: cache.* (tagged cache=userInfo) for hits, misses and loads;
+ * social_feed.enrichment.lookups / .loaded give the share of lookups that reached gRPC.
+ */
+@Service
+@Slf4j
+public class UserInfoCache {
+
+    private final UserProfileClient userProfileClient;
+    private final AsyncLoadingCache<String, Optional<UserInfo>> cache;
+
+    private final Counter lookups;
+    private final Counter loaded;
+
+    public UserInfoCache(UserProfileClient userProfileClient,
+            MeterRegistry meterRegistry,
+            @Value("${enrichment.user-info.max-size:50000}") long maxSize,
+            @Value("${enrichment.user-info.refresh-after:PT5M}") Duration refreshAfter,
+            @Value("${enrichment.user-info.expire-after:PT30M}") Duration expireAfter) {
+        this.userProfileClient = userProfileClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .buildAsync(new UserInfoLoader());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userInfo");
+        this.lookups = Counter.builder("social_feed.enrichment.lookups")
+                .description("User ids requested for post enrichment")
+                .register(meterRegistry);
+        this.loaded = Counter.builder("social_feed.enrichment.loaded")
+                .description("User ids fetched from the user profile service for enrichment")
+                .register(meterRegistry);
+    }
+
+    /**
+     * User info for the given ids; unknown users are absent from the result.
+     * The future fails if a required load fails.
+     */
+    public CompletableFuture<Map<String, UserInfo>> getAll(List<String> userIds) {
+        lookups.increment(userIds.size());
+        return cache.getAll(userIds).thenApply(entries -> {
+            Map<String, UserInfo> users = new HashMap<>();
+            entries.forEach((userId, info) -> info.ifPresent(value -> users.put(userId, value)));
+            return users;
+        });
+    }
+
+    private class UserInfoLoader implements AsyncCacheLoader<String, Optional<UserInfo>> {
+
+        @Override
+        public CompletableFuture<? extends Optional<UserInfo>> asyncLoad(String userId, Executor executor) {
+            return asyncLoadAll(Set.of(userId), executor).thenApply(users -> users.get(userId));
+        }
+
+        @Override
+        public CompletableFuture<? extends Map<? extends String, ? extends Optional<UserInfo>>> asyncLoadAll(
+                Set<? extends String> userIds, Executor executor) {
+            loaded.increment(userIds.size());
+            return userProfileClient.batchGetUserInfoAsync(List.copyOf(userIds)).thenApply(found -> {
+                Map<String, Optional<UserInfo>> result = new HashMap<>();
+                for (String userId : userIds) {
+                    result.put(userId, Optional.ofNullable(found.get(userId)));
+                }
+                return result;
+            });
+        }
+    }
+}
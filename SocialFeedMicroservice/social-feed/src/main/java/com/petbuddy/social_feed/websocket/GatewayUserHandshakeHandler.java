@@ -0,0 +1,26 @@
+package com.petbuddy.social_feed.websocket;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Takes the session principal from the X-User-Id header of the handshake request, which
+ * the gateway sets after authentication as it does for the REST endpoints. Headers on
+ * STOMP frames come from the client and are never used for identity.
+ */
+public class GatewayUserHandshakeHandler extends DefaultHandshakeHandler {
+
+    public static final String USER_HEADER = "X-User-Id";
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+        String userId = request.getHeaders().getFirst(USER_HEADER);
+        return StringUtils.hasText(userId) ? new StompPrincipal(userId) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.petbuddy.social_feed.websocket;
+
+import java.security.Principal;
+
+/**
+ * Principal of a STOMP session; the name is the userId used for /user destinations
+ */
+public record StompPrincipal(String name) implements Principal {
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
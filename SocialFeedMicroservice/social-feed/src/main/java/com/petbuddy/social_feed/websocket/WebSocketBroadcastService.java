@@ -1,27 +1,108 @@
 package com.petbuddy.social_feed.websocket;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.petbuddy.social_feed.config.RabbitMQConfig;
+import com.petbuddy.social_feed.config.WebSocketConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Component;
 
+/**
+ * Routes events from websocket-exchange to STOMP destinations by routing key:
+ * - user.{userId} -> /user/{userId}/queue/feed, only if the user has a session
+ * - geo.{cell} -> /topic/feed.geo.{cell}, only if a session on this node subscribed (simple mode)
+ * - post.{postId} -> /topic/post.{postId}, likewise
+ * - anything else -> /topic/feed/all
+ *
+ * In simple mode every node consumes its own copy of the stream and delivers to its local
+ * sessions. In relay mode one node per event hands it to the broker, which delivers to
+ * the subscribed sessions on every node.
+ */
 @Component
 public class WebSocketBroadcastService {
 
+    public static final String USER_FEED_DESTINATION = "/queue/feed";
+    public static final String GEO_TOPIC_PREFIX = "/topic/feed.geo.";
+    public static final String POST_TOPIC_PREFIX = "/topic/post.";
+    public static final String BROADCAST_TOPIC = "/topic/feed/all";
+
     private static final Logger log = LoggerFactory.getLogger(WebSocketBroadcastService.class);
     private final SimpMessagingTemplate template;
+    private final SimpUserRegistry userRegistry;
+    private final WebSocketSubscriptionRegistry subscriptionRegistry;
+    private final ObjectMapper objectMapper;
+    private final boolean relayMode;
+
+    private final Counter delivered;
+    private final Counter skipped;
 
-    public WebSocketBroadcastService(SimpMessagingTemplate template) {
+    public WebSocketBroadcastService(SimpMessagingTemplate template,
+            SimpUserRegistry userRegistry,
+            WebSocketSubscriptionRegistry subscriptionRegistry,
+            ObjectMapper objectMapper,
+            WebSocketConfig webSocketConfig,
+            MeterRegistry meterRegistry) {
         this.template = template;
+        this.userRegistry = userRegistry;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.objectMapper = objectMapper;
+        this.relayMode = webSocketConfig.isRelayMode();
+        this.delivered = Counter.builder("social_feed.websocket.routed")
+                .description("WebSocket events handed to the broker")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("social_feed.websocket.skipped")
+                .description("WebSocket events with no subscribed session")
+                .register(meterRegistry);
+    }
+
+    @RabbitListener(queues = "#{websocketBroadcastQueue.name}")
+    public void broadcast(Message message) {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(message.getBody());
+        } catch (Exception e) {
+            log.error("Dropping unreadable websocket event {}: {}", routingKey, e.getMessage());
+            return;
+        }
+
+        if (routingKey != null && routingKey.startsWith(RabbitMQConfig.RK_WEBSOCKET_USER)) {
+            String userId = routingKey.substring(RabbitMQConfig.RK_WEBSOCKET_USER.length());
+            if (userRegistry.getUser(userId) == null) {
+                skipped.increment();
+                return;
+            }
+            template.convertAndSendToUser(userId, USER_FEED_DESTINATION, payload);
+        } else {
+            String destination = topicFor(routingKey);
+            // the broadcast topic is always sent; in relay mode the broker knows the subscribers
+            if (!relayMode && !BROADCAST_TOPIC.equals(destination) && !subscriptionRegistry.hasSubscribers(destination)) {
+                skipped.increment();
+                return;
+            }
+            template.convertAndSend(destination, payload);
+        }
+        delivered.increment();
+        log.debug("Routed websocket event {}", routingKey);
     }
 
-    @RabbitListener(queues = RabbitMQConfig.Q_WEBSOCKET_BROADCAST)
-    public void broadcast(Object payload) {
-        // In a full implementation, payload would contain metadata to route to specific topics
-        log.info("Broadcasting websocket event: {}", payload);
-        // As a basic default we publish to a generic topic for clients to subscribe to
-        template.convertAndSend("/topic/feed/all", payload);
+    private static String topicFor(String routingKey) {
+        if (routingKey == null) {
+            return BROADCAST_TOPIC;
+        }
+        if (routingKey.startsWith(RabbitMQConfig.RK_WEBSOCKET_GEO)) {
+            return GEO_TOPIC_PREFIX + routingKey.substring(RabbitMQConfig.RK_WEBSOCKET_GEO.length());
+        }
+        if (routingKey.startsWith(RabbitMQConfig.RK_WEBSOCKET_POST)) {
+            return POST_TOPIC_PREFIX + routingKey.substring(RabbitMQConfig.RK_WEBSOCKET_POST.length());
+        }
+        return BROADCAST_TOPIC;
     }
 }
@@ -0,0 +1,77 @@
+package com.petbuddy.social_feed.websocket;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Topic subscriptions of the sessions connected to this node, so the router can skip
+ * destinations nobody here is listening to.
+ */
+@Component
+public class WebSocketSubscriptionRegistry {
+
+    // destination -> sessionIds
+    private final Map<String, Set<String>> subscribers = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    public boolean hasSubscribers(String destination) {
+        Set<String> sessionIds = subscribers.get(destination);
+        return sessionIds != null && !sessionIds.isEmpty();
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || destination == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+        subscribers.compute(destination, (d, sessionIds) -> {
+            Set<String> updated = sessionIds != null ? sessionIds : ConcurrentHashMap.newKeySet();
+            updated.add(sessionId);
+            return updated;
+        });
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = sessions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null && !subscriptions.containsValue(destination)) {
+            remove(destination, accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(destination -> remove(destination, event.getSessionId()));
+        }
+    }
+
+    private void remove(String destination, String sessionId) {
+        subscribers.computeIfPresent(destination, (d, sessionIds) -> {
+            sessionIds.remove(sessionId);
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
+}
@@ -0,0 +1,50 @@
+-- V1__baseline_posts_schema.sql
+-- Baseline of the posts schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this only runs on a fresh database.
+
+CREATE TABLE IF NOT EXISTS posts (
+    post_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    channel_id BIGINT,
+    urgency VARCHAR(255) NOT NULL,
+    content_text VARCHAR(2200),
+    media_type VARCHAR(255) NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    location_name VARCHAR(100),
+    media_visibility VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    view_count BIGINT,
+    like_count BIGINT,
+    comment_count BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_posts_user_created ON posts(user_id, created_at);
+
+CREATE TABLE IF NOT EXISTS post_media_urls (
+    post_id BIGINT NOT NULL REFERENCES posts(post_id),
+    media_urls VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS post_thumbnail_urls (
+    post_id BIGINT NOT NULL REFERENCES posts(post_id),
+    thumbnail_urls VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS post_hashtags (
+    post_id BIGINT NOT NULL REFERENCES posts(post_id),
+    hashtags VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS post_mentions (
+    post_id BIGINT NOT NULL REFERENCES posts(post_id),
+    mentions VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS post_mentioned_user_ids (
+    post_id BIGINT NOT NULL REFERENCES posts(post_id),
+    mentioned_user_ids BIGINT
+);
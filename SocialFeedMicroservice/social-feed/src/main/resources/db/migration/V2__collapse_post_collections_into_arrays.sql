@@ -0,0 +1,40 @@
+-- V2__collapse_post_collections_into_arrays.sql
+-- Replaces the five post_* collection tables with array columns on posts, so a post is
+-- read and written as a single row. Hashtags get a GIN index for containment lookups
+-- (hashtags @> ARRAY['#tag']).
+
+ALTER TABLE posts
+    ADD COLUMN IF NOT EXISTS media_urls TEXT[],
+    ADD COLUMN IF NOT EXISTS thumbnail_urls TEXT[],
+    ADD COLUMN IF NOT EXISTS hashtags TEXT[],
+    ADD COLUMN IF NOT EXISTS mentions TEXT[],
+    ADD COLUMN IF NOT EXISTS mentioned_user_ids BIGINT[];
+
+-- Backfill; element order follows the physical row order of the old tables (insertion order)
+UPDATE posts p SET media_urls = c.vals
+FROM (SELECT post_id, array_agg(media_urls ORDER BY ctid) AS vals FROM post_media_urls GROUP BY post_id) c
+WHERE c.post_id = p.post_id;
+
+UPDATE posts p SET thumbnail_urls = c.vals
+FROM (SELECT post_id, array_agg(thumbnail_urls ORDER BY ctid) AS vals FROM post_thumbnail_urls GROUP BY post_id) c
+WHERE c.post_id = p.post_id;
+
+UPDATE posts p SET hashtags = c.vals
+FROM (SELECT post_id, array_agg(hashtags ORDER BY ctid) AS vals FROM post_hashtags GROUP BY post_id) c
+WHERE c.post_id = p.post_id;
+
+UPDATE posts p SET mentions = c.vals
+FROM (SELECT post_id, array_agg(mentions ORDER BY ctid) AS vals FROM post_mentions GROUP BY post_id) c
+WHERE c.post_id = p.post_id;
+
+UPDATE posts p SET mentioned_user_ids = c.vals
+FROM (SELECT post_id, array_agg(mentioned_user_ids ORDER BY ctid) AS vals FROM post_mentioned_user_ids GROUP BY post_id) c
+WHERE c.post_id = p.post_id;
+
+CREATE INDEX IF NOT EXISTS idx_posts_hashtags ON posts USING GIN (hashtags);
+
+DROP TABLE post_media_urls;
+DROP TABLE post_thumbnail_urls;
+DROP TABLE post_hashtags;
+DROP TABLE post_mentions;
+DROP TABLE post_mentioned_user_ids;
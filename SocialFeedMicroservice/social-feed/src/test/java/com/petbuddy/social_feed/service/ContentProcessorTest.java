@@ -0,0 +1,112 @@
+package com.petbuddy.social_feed.service;
+
+import com.petbuddy.social_feed.enums.MediaType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentProcessorTest {
+
+    // The extractors PostService used before the tokenizer, kept as the parity reference
+    private static final Pattern LEGACY_HASHTAG = Pattern.compile("#(\\w+)");
+    private static final Pattern LEGACY_MENTION = Pattern.compile("@(\\w+)");
+
+    private final ContentProcessor processor = new ContentProcessor();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "#dog",
+            "Walk in the park #dog #Park #dog",
+            "@alice and @bob_2 went out with #Rex_01",
+            "(#cat), [@carol]! #a1,#b2;@dave.",
+            "##double and #",
+            "multi\nline\t#tabs @tabs\n#end",
+            "no tags or mentions here",
+            "emoji 🐶 next to #dog 🐾 and @eve"
+    })
+    void hashtagsAndMentionsMatchLegacyRegexForDelimitedTokens(String content) {
+        ContentProcessor.ParsedContent parsed = processor.parse(content);
+
+        Set<String> legacyHashtags = legacyMatches(LEGACY_HASHTAG, content).stream()
+                .map(tag -> tag.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        assertThat(parsed.hashtags()).containsExactlyInAnyOrderElementsOf(legacyHashtags);
+        assertThat(parsed.mentions()).containsExactlyInAnyOrderElementsOf(legacyMatches(LEGACY_MENTION, content));
+    }
+
+    @Test
+    void emailAddressesAreNoLongerReadAsMentions() {
+        String content = "Contact vet@clinic.com or @alice";
+
+        assertThat(legacyMatches(LEGACY_MENTION, content)).containsExactlyInAnyOrder("@clinic", "@alice");
+        assertThat(processor.parse(content).mentions()).containsExactly("@alice");
+    }
+
+    @Test
+    void tagsInsideWordsAreIgnored() {
+        ContentProcessor.ParsedContent parsed = processor.parse("issue#12 and user@host but #real");
+
+        assertThat(parsed.hashtags()).containsExactly("#real");
+        assertThat(parsed.mentions()).isEmpty();
+    }
+
+    @Test
+    void hashtagsAreLowerCasedAndDeduplicatedInOrder() {
+        assertThat(processor.parse("#Dog #DOG #cat #dog").hashtags()).containsExactly("#dog", "#cat");
+    }
+
+    @Test
+    void urlsAreCollectedWithoutReadingTheirFragmentsAsTags() {
+        ContentProcessor.ParsedContent parsed =
+                processor.parse("see https://example.com/p#section and http://x.io/@user #tag");
+
+        assertThat(parsed.urls()).containsExactly("https://example.com/p#section", "http://x.io/@user");
+        assertThat(parsed.hashtags()).containsExactly("#tag");
+        assertThat(parsed.mentions()).isEmpty();
+    }
+
+    @Test
+    void countsEmojiIncludingSupplementaryCodePoints() {
+        assertThat(processor.parse("🐶 ☀ 🇺🇸 plain — text").emojiCount()).isEqualTo(4);
+    }
+
+    @Test
+    void emptyAndNullContentParseToNothing() {
+        assertThat(processor.parse(null).hashtags()).isEmpty();
+        assertThat(processor.parse("").mentions()).isEmpty();
+    }
+
+    @Test
+    void normalizeHashtagAddsPrefixAndLowerCases() {
+        assertThat(processor.normalizeHashtag("Dog")).isEqualTo("#dog");
+        assertThat(processor.normalizeHashtag("#Dog")).isEqualTo("#dog");
+    }
+
+    @Test
+    void classifiesMediaByExtension() {
+        assertThat(processor.classifyMedia(List.of("a.JPG", "b.png?size=2"))).isEqualTo(MediaType.IMAGE);
+        assertThat(processor.classifyMedia(List.of("clip.mp4#t=3"))).isEqualTo(MediaType.VIDEO);
+        assertThat(processor.classifyMedia(List.of("a.webp", "b.mov"))).isEqualTo(MediaType.BOTH);
+        assertThat(processor.mediaTypeOf("https://cdn.example.com/file")).isNull();
+        assertThat(processor.mediaTypeOf("https://cdn.example.com/dir.mp4/file")).isNull();
+    }
+
+    private static Set<String> legacyMatches(Pattern pattern, String content) {
+        Matcher matcher = pattern.matcher(content);
+        Set<String> matches = new HashSet<>();
+        while (matcher.find()) {
+            matches.add(matcher.group());
+        }
+        return matches;
+    }
+}
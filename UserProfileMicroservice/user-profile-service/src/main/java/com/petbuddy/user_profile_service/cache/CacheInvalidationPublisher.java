@@ -0,0 +1,51 @@
+package com.petbuddy.user_profile_service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts L1 invalidations to the other nodes over Redis pub/sub.
+ *
+ * Message format: {nodeId}|{cacheName}|{op}|{key}, where op is E (evict key)
+ * or C (clear cache). Messages from this node are ignored on receipt.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "cache-invalidation:user-profile-service";
+
+    static final String OP_EVICT = "E";
+    static final String OP_CLEAR = "C";
+    static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(cacheName, OP_EVICT, key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(cacheName, OP_CLEAR, "");
+    }
+
+    private void publish(String cacheName, String op, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL,
+                    nodeId + SEPARATOR + cacheName + SEPARATOR + op + SEPARATOR + key);
+        } catch (Exception e) {
+            // Other nodes fall back to the L1 TTL
+            log.warn("Failed to publish cache invalidation for {}:{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+}
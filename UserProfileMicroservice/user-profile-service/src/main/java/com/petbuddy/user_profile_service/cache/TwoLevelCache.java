@@ -0,0 +1,171 @@
+package com.petbuddy.user_profile_service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache with a Caffeine near-cache (L1) in front of a shared Redis cache (L2).
+ *
+ * Reads go L1 -> L2 -> loader; an L2 hit is promoted into L1. Writes and
+ * evictions go to both tiers and are broadcast so that other nodes drop
+ * their L1 copy. A put that fills a key this node just missed on (populate
+ * after a read miss) is not a change, so it is not broadcast. L1 keys are the
+ * string form of the cache key, matching what Redis stores and what the
+ * invalidation messages carry.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    // Keys that missed both tiers on this node and are expected to be populated by the caller
+    private final com.github.benmanes.caffeine.cache.Cache<String, Boolean> pendingLoads = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .maximumSize(10_000)
+            .build();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TwoLevelCache(String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            Cache remote,
+            CacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l1Hits = requestCounter(meterRegistry, name, "l1", "hit");
+        this.l1Misses = requestCounter(meterRegistry, name, "l1", "miss");
+        this.l2Hits = requestCounter(meterRegistry, name, "l2", "hit");
+        this.l2Misses = requestCounter(meterRegistry, name, "l2", "miss");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String cache, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .tag("cache", cache)
+                .tag("tier", tier)     // "l1" (Caffeine) or "l2" (Redis)
+                .tag("result", result) // "hit" or "miss"
+                .description("Two-level cache lookups per tier")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = String.valueOf(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            l2Hits.increment();
+            local.put(localKey, wrapper.get());
+            return wrapper;
+        }
+        l2Misses.increment();
+        pendingLoads.put(localKey, Boolean.TRUE);
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            // Null values are not cached (see CacheConfig); just drop stale copies
+            evict(key);
+            return;
+        }
+        String localKey = String.valueOf(key);
+        boolean populate = pendingLoads.asMap().remove(localKey) != null;
+        remote.put(key, value);
+        local.put(localKey, value);
+        if (!populate) {
+            invalidationPublisher.publishEvict(name, localKey);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        pendingLoads.invalidate(String.valueOf(key));
+        remote.evict(key);
+        local.invalidate(String.valueOf(key));
+        invalidationPublisher.publishEvict(name, String.valueOf(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    /**
+     * Drop a key from this node's L1 only (remote invalidation)
+     */
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * Drop all of this node's L1 entries (remote invalidation)
+     */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+}
@@ -0,0 +1,95 @@
+package com.petbuddy.user_profile_service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CacheManager that layers a per-cache Caffeine L1 over the Redis caches of a
+ * RedisCacheManager, and applies invalidations received from other nodes.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Duration> localTtls;
+    private final Duration defaultLocalTtl;
+    private final long localMaxSize;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+            CacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry,
+            Map<String, Duration> localTtls,
+            Duration defaultLocalTtl,
+            long localMaxSize) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.localTtls = localTtls;
+        this.defaultLocalTtl = defaultLocalTtl;
+        this.localMaxSize = localMaxSize;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtls.getOrDefault(name, defaultLocalTtl))
+                .build();
+
+        return new TwoLevelCache(name, local, remote, invalidationPublisher, meterRegistry);
+    }
+
+    /**
+     * Apply an invalidation message published by another node
+     */
+    public void handleInvalidation(String message) {
+        String[] parts = message.split("\\" + CacheInvalidationPublisher.SEPARATOR, 4);
+        if (parts.length < 4) {
+            log.warn("Ignoring malformed cache invalidation message: {}", message);
+            return;
+        }
+        if (invalidationPublisher.getNodeId().equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            // Nothing cached locally under this name yet
+            return;
+        }
+
+        if (CacheInvalidationPublisher.OP_CLEAR.equals(parts[2])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
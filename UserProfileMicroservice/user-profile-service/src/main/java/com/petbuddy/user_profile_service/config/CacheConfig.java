@@ -1,46 +1,134 @@
 package com.petbuddy.user_profile_service.config;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.petbuddy.common.cache.CompactRedisSerializer;
+import com.petbuddy.user_profile_service.cache.CacheInvalidationPublisher;
+import com.petbuddy.user_profile_service.cache.TwoLevelCacheManager;
+import com.petbuddy.user_profile_service.web.dto.MedicalDocumentDto;
+import com.petbuddy.user_profile_service.web.dto.PetProfileResponse;
+import com.petbuddy.user_profile_service.web.dto.ShippingAddressDto;
+import com.petbuddy.user_profile_service.web.dto.UserProfileResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Two-level caching: Caffeine near-cache (L1) per node in front of Redis (L2).
+ * L1 TTLs are kept well below the L2 TTLs to bound staleness if an
+ * invalidation message is missed.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // Prepended to every Redis cache key. Bump it whenever a cached value type changes
+    // incompatibly (v2: entities replaced by DTOs), so entries written by the previous
+    // release are never read back as the new type and simply expire.
+    static final String CACHE_KEY_VERSION = "v2";
+
+    @Value("${cache.l1.max-size:10000}")
+    private long l1MaxSize;
+
+    @Value("${cache.redis.compression-threshold-bytes:1024}")
+    private int compressionThreshold;
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Default cache configuration
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer();
+        valueSerializer.configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+
+        // Default cache configuration, for caches without a declared value type
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                        .fromSerializer(valueSerializer))
+                .prefixCacheNameWith(CACHE_KEY_VERSION + ":")
                 .disableCachingNullValues();
 
-        // Configure different TTLs for different cache names
+        // Configure value types (compact binary values) and TTLs per cache name
         Map<String, RedisCacheConfiguration> configMap = new HashMap<>();
-        configMap.put("user-profile", defaultConfig.entryTtl(Duration.ofMinutes(10)));
-        configMap.put("user-addresses", defaultConfig.entryTtl(Duration.ofMinutes(10)));
+        configMap.put("user-profile", compact(defaultConfig, "user-profile",
+                CompactRedisSerializer.typeOf(UserProfileResponse.class), meterRegistry)
+                .entryTtl(Duration.ofMinutes(10)));
+        configMap.put("user-addresses", compact(defaultConfig, "user-addresses",
+                CompactRedisSerializer.listOf(ShippingAddressDto.class), meterRegistry)
+                .entryTtl(Duration.ofMinutes(10)));
 
         // Pet caches - shorter TTL for frequently updated data
-        configMap.put("pet-list", defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        configMap.put("pet-profile", defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        configMap.put("pet-documents", defaultConfig.entryTtl(Duration.ofMinutes(3)));
+        configMap.put("pet-list", compact(defaultConfig, "pet-list",
+                CompactRedisSerializer.listOf(PetProfileResponse.class), meterRegistry)
+                .entryTtl(Duration.ofMinutes(5)));
+        configMap.put("pet-profile", compact(defaultConfig, "pet-profile",
+                CompactRedisSerializer.typeOf(PetProfileResponse.class), meterRegistry)
+                .entryTtl(Duration.ofMinutes(5)));
+        configMap.put("pet-documents", compact(defaultConfig, "pet-documents",
+                CompactRedisSerializer.listOf(MedicalDocumentDto.class), meterRegistry)
+                .entryTtl(Duration.ofMinutes(3)));
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(configMap)
                 .build();
     }
-}
\ No newline at end of file
+
+    private RedisCacheConfiguration compact(RedisCacheConfiguration config, String cacheName, JavaType type,
+            MeterRegistry meterRegistry) {
+        return config.serializeValuesWith(RedisSerializationContext.SerializationPair
+                .fromSerializer(new CompactRedisSerializer<>(cacheName, type, compressionThreshold, meterRegistry)));
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate);
+    }
+
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(RedisCacheManager redisCacheManager,
+            CacheInvalidationPublisher cacheInvalidationPublisher,
+            MeterRegistry meterRegistry) {
+        Map<String, Duration> localTtls = new HashMap<>();
+        localTtls.put("user-profile", Duration.ofMinutes(1));
+        localTtls.put("user-addresses", Duration.ofMinutes(1));
+        localTtls.put("pet-list", Duration.ofSeconds(30));
+        localTtls.put("pet-profile", Duration.ofSeconds(30));
+        localTtls.put("pet-documents", Duration.ofSeconds(30));
+
+        return new TwoLevelCacheManager(redisCacheManager, cacheInvalidationPublisher, meterRegistry,
+                localTtls, Duration.ofSeconds(30), l1MaxSize);
+    }
+
+    /**
+     * Subscribes to L1 invalidations published by other nodes
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.handleInvalidation(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        return container;
+    }
+}
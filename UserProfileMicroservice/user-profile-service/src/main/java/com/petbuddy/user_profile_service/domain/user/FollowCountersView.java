@@ -0,0 +1,15 @@
+package com.petbuddy.user_profile_service.domain.user;
+
+import java.util.UUID;
+
+/**
+ * Projection of the denormalized follow counters stored on a user row.
+ */
+public interface FollowCountersView {
+
+    UUID getId();
+
+    long getFollowersCount();
+
+    long getFollowingCount();
+}
@@ -81,6 +81,17 @@ public class User {
     @Column(name = "deleted")
     private boolean deleted = false;
 
+    /**
+     * Denormalized counters. Only ever written through the atomic increment
+     * queries in UserRepository, never by entity saves, so a profile update
+     * cannot overwrite a concurrent follow.
+     */
+    @Column(name = "followers_count", nullable = false, insertable = false, updatable = false)
+    private long followersCount;
+
+    @Column(name = "following_count", nullable = false, insertable = false, updatable = false)
+    private long followingCount;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<ShippingAddress> shippingAddresses = new ArrayList<>();
 
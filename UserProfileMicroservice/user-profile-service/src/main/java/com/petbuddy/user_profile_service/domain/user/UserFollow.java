@@ -13,8 +13,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "user_follows", uniqueConstraints = @UniqueConstraint(name = "uk_follower_following", columnNames = {
         "follower_id", "following_id" }), indexes = {
-                @Index(name = "idx_follows_follower", columnList = "follower_id"),
-                @Index(name = "idx_follows_following", columnList = "following_id")
+                @Index(name = "idx_follows_follower_created", columnList = "follower_id, created_at DESC, id DESC"),
+                @Index(name = "idx_follows_following_created", columnList = "following_id, created_at DESC, id DESC")
         })
 @Getter
 @Setter
@@ -1,8 +1,12 @@
 package com.petbuddy.user_profile_service.domain.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +17,35 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.id = :userId AND u.authUserId = :authUserId")
     boolean existsByIdAndAuthUserId(UUID userId, String authUserId);
-}
\ No newline at end of file
+
+    /**
+     * Read only the follow counters of a user
+     */
+    @Query("SELECT u.id AS id, u.followersCount AS followersCount, u.followingCount AS followingCount FROM User u WHERE u.id = :userId")
+    Optional<FollowCountersView> findFollowCountersById(@Param("userId") UUID userId);
+
+    /**
+     * Keyset page of follow counters ordered by id, used by the reconciliation job.
+     * Rows are locked until the transaction ends so follows cannot change the counters while
+     * they are compared with the real counts; rows a follow is updating right now are skipped
+     * (left for the next run) instead of waited on.
+     */
+    @Query(value = "SELECT id AS \"id\", followers_count AS \"followersCount\", following_count AS \"followingCount\" " +
+            "FROM users WHERE id > :afterId ORDER BY id LIMIT :limit FOR NO KEY UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<FollowCountersView> lockFollowCountersAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = u.followersCount + :delta WHERE u.id = :userId")
+    int incrementFollowersCount(@Param("userId") UUID userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id = :userId")
+    int incrementFollowingCount(@Param("userId") UUID userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = :followersCount, u.followingCount = :followingCount WHERE u.id = :userId")
+    int setFollowCounters(@Param("userId") UUID userId,
+            @Param("followersCount") long followersCount,
+            @Param("followingCount") long followingCount);
+}
@@ -2,7 +2,6 @@ package com.petbuddy.user_profile_service.grpc;
 
 import com.petbuddy.user_profile_service.domain.user.User;
 import com.petbuddy.user_profile_service.domain.user.UserRepository;
-import com.petbuddy.user_profile_service.repository.UserFollowRepository;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +20,6 @@ import java.util.stream.Collectors;
 public class UserProfileGrpcServer extends UserProfileGrpcServiceGrpc.UserProfileGrpcServiceImplBase {
 
     private final UserRepository userRepository;
-    private final UserFollowRepository followRepository;
 
     @Override
     public void getUserInfo(GetUserInfoRequest request, StreamObserver<UserInfoResponse> responseObserver) {
@@ -30,17 +28,7 @@ public class UserProfileGrpcServer extends UserProfileGrpcServiceGrpc.UserProfil
             Optional<User> userOpt = userRepository.findById(userId);
 
             if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                long followersCount = followRepository.countByFollowingId(userId);
-
-                UserInfoResponse response = UserInfoResponse.newBuilder()
-                        .setUserId(user.getId().toString())
-                        .setFirstName(user.getFirstName() != null ? user.getFirstName() : "")
-                        .setLastName(user.getLastName() != null ? user.getLastName() : "")
-                        .setAvatarUrl(user.getAvatarUrl() != null ? user.getAvatarUrl() : "")
-                        .setBio(user.getBio() != null ? user.getBio() : "")
-                        .setFollowersCount(followersCount)
-                        .build();
+                UserInfoResponse response = toUserInfo(userOpt.get());
 
                 responseObserver.onNext(response);
                 responseObserver.onCompleted();
@@ -62,9 +50,9 @@ public class UserProfileGrpcServer extends UserProfileGrpcServiceGrpc.UserProfil
     public void batchGetUserInfo(BatchGetUserInfoRequest request,
             StreamObserver<BatchGetUserInfoResponse> responseObserver) {
         try {
-            List<UUID> userIds = request.getUserIdsList().stream()
+            Set<UUID> userIds = request.getUserIdsList().stream()
                     .map(UUID::fromString)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
 
             List<User> users = userRepository.findAllById(userIds);
 
@@ -79,16 +67,7 @@ public class UserProfileGrpcServer extends UserProfileGrpcServiceGrpc.UserProfil
                 User user = userMap.get(userId);
 
                 if (user != null) {
-                    long followersCount = followRepository.countByFollowingId(userId);
-
-                    responses.add(UserInfoResponse.newBuilder()
-                            .setUserId(user.getId().toString())
-                            .setFirstName(user.getFirstName() != null ? user.getFirstName() : "")
-                            .setLastName(user.getLastName() != null ? user.getLastName() : "")
-                            .setAvatarUrl(user.getAvatarUrl() != null ? user.getAvatarUrl() : "")
-                            .setBio(user.getBio() != null ? user.getBio() : "")
-                            .setFollowersCount(followersCount)
-                            .build());
+                    responses.add(toUserInfo(user));
                 } else {
                     // Include empty response for missing users
                     responses.add(UserInfoResponse.newBuilder()
@@ -112,4 +91,15 @@ public class UserProfileGrpcServer extends UserProfileGrpcServiceGrpc.UserProfil
             responseObserver.onError(e);
         }
     }
+
+    private UserInfoResponse toUserInfo(User user) {
+        return UserInfoResponse.newBuilder()
+                .setUserId(user.getId().toString())
+                .setFirstName(user.getFirstName() != null ? user.getFirstName() : "")
+                .setLastName(user.getLastName() != null ? user.getLastName() : "")
+                .setAvatarUrl(user.getAvatarUrl() != null ? user.getAvatarUrl() : "")
+                .setBio(user.getBio() != null ? user.getBio() : "")
+                .setFollowersCount(user.getFollowersCount())
+                .build();
+    }
 }
@@ -0,0 +1,13 @@
+package com.petbuddy.user_profile_service.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection for grouped follow counts (one row per user).
+ */
+public interface FollowCountView {
+
+    UUID getUserId();
+
+    long getTotal();
+}
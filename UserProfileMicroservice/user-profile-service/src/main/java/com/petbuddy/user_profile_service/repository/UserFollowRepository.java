@@ -4,10 +4,13 @@ import com.petbuddy.user_profile_service.domain.user.UserFollow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +38,43 @@ public interface UserFollowRepository extends JpaRepository<UserFollow, Long> {
      */
     Page<UserFollow> findByFollowingId(UUID followingId, Pageable pageable);
 
+    /**
+     * First keyset page of followers, newest follow first
+     */
+    List<UserFollow> findByFollowingIdOrderByCreatedAtDescIdDesc(UUID followingId, Pageable limit);
+
+    /**
+     * Next keyset page of followers strictly after the (createdAt, id) cursor.
+     * The redundant createdAt <= bound lets Postgres start the index scan at the cursor;
+     * the OR alone is only applied as a filter.
+     */
+    @Query("SELECT uf FROM UserFollow uf WHERE uf.followingId = :followingId " +
+            "AND uf.createdAt <= :createdAt " +
+            "AND (uf.createdAt < :createdAt OR (uf.createdAt = :createdAt AND uf.id < :id)) " +
+            "ORDER BY uf.createdAt DESC, uf.id DESC")
+    List<UserFollow> findFollowersAfter(@Param("followingId") UUID followingId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
+
+    /**
+     * First keyset page of followed users, newest follow first
+     */
+    List<UserFollow> findByFollowerIdOrderByCreatedAtDescIdDesc(UUID followerId, Pageable limit);
+
+    /**
+     * Next keyset page of followed users strictly after the (createdAt, id) cursor
+     * (createdAt <= bound as for followers)
+     */
+    @Query("SELECT uf FROM UserFollow uf WHERE uf.followerId = :followerId " +
+            "AND uf.createdAt <= :createdAt " +
+            "AND (uf.createdAt < :createdAt OR (uf.createdAt = :createdAt AND uf.id < :id)) " +
+            "ORDER BY uf.createdAt DESC, uf.id DESC")
+    List<UserFollow> findFollowingAfter(@Param("followerId") UUID followerId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
+
     /**
      * Count followers for a user
      */
@@ -45,6 +85,22 @@ public interface UserFollowRepository extends JpaRepository<UserFollow, Long> {
      */
     long countByFollowerId(UUID followerId);
 
+    /**
+     * Count followers for a batch of users in a single grouped query.
+     * Users without followers are absent from the result.
+     */
+    @Query("SELECT uf.followingId AS userId, COUNT(uf) AS total FROM UserFollow uf " +
+            "WHERE uf.followingId IN :userIds GROUP BY uf.followingId")
+    List<FollowCountView> countFollowersByFollowingIds(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Count followed users for a batch of users in a single grouped query.
+     * Users not following anyone are absent from the result.
+     */
+    @Query("SELECT uf.followerId AS userId, COUNT(uf) AS total FROM UserFollow uf " +
+            "WHERE uf.followerId IN :userIds GROUP BY uf.followerId")
+    List<FollowCountView> countFollowingByFollowerIds(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Get list of user IDs that a user follows
      */
@@ -64,7 +120,9 @@ public interface UserFollowRepository extends JpaRepository<UserFollow, Long> {
     List<UUID> findFollowingIdsInList(@Param("followerId") UUID followerId, @Param("userIds") List<UUID> userIds);
 
     /**
-     * Delete follow relationship
+     * Delete follow relationship, returning the number of rows removed
      */
-    void deleteByFollowerIdAndFollowingId(UUID followerId, UUID followingId);
+    @Modifying
+    @Query("DELETE FROM UserFollow uf WHERE uf.followerId = :followerId AND uf.followingId = :followingId")
+    int deleteByFollowerIdAndFollowingId(@Param("followerId") UUID followerId, @Param("followingId") UUID followingId);
 }
@@ -0,0 +1,96 @@
+package com.petbuddy.user_profile_service.scheduler;
+
+import com.petbuddy.user_profile_service.service.FollowService;
+import com.petbuddy.user_profile_service.service.FollowService.CounterReconciliationBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Periodically recomputes the denormalized followers/following counters on users
+ * from user_follows and corrects any drift.
+ */
+@Component
+@Slf4j
+public class FollowCounterReconciliationScheduler {
+
+    private static final String RECONCILIATION_LOCK_KEY = "follow-counter-reconciliation-lock";
+    private static final long LOCK_TIMEOUT_SECONDS = 30;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final FollowService followService;
+    private final LockRegistry lockRegistry;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+
+    public FollowCounterReconciliationScheduler(
+            FollowService followService,
+            LockRegistry lockRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${scheduling.follow-reconciliation.batch-size:500}") int batchSize) {
+        this.followService = followService;
+        this.lockRegistry = lockRegistry;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reconcile follow counters nightly in keyset batches.
+     * Each batch runs in its own transaction; a distributed lock keeps a single instance active.
+     */
+    @Scheduled(cron = "${scheduling.follow-reconciliation.cron:0 0 3 * * *}")
+    public void reconcileFollowCounters() {
+        Lock lock = lockRegistry.obtain(RECONCILIATION_LOCK_KEY);
+
+        try {
+            if (lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                try {
+                    log.info("Starting follow counter reconciliation");
+                    long start = System.nanoTime();
+
+                    UUID cursor = MIN_UUID;
+                    long scanned = 0;
+                    long drifted = 0;
+
+                    while (cursor != null) {
+                        CounterReconciliationBatch batch = followService.reconcileFollowCounters(cursor, batchSize);
+                        scanned += batch.scanned();
+                        drifted += batch.drifted();
+                        cursor = batch.lastId();
+                    }
+
+                    Timer.builder("follow.counters.reconciliation.duration")
+                            .description("Duration of a full follow counter reconciliation run")
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    Counter.builder("follow.counters.reconciliation.scanned")
+                            .description("Users checked by follow counter reconciliation")
+                            .register(meterRegistry)
+                            .increment(scanned);
+                    Counter.builder("follow.counters.reconciliation.drift")
+                            .description("Users whose follow counters had drifted and were corrected")
+                            .register(meterRegistry)
+                            .increment(drifted);
+
+                    log.info("Follow counter reconciliation completed: scanned={}, drifted={}", scanned, drifted);
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                log.warn("Could not acquire lock for follow counter reconciliation - another instance may be running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Follow counter reconciliation interrupted", e);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.petbuddy.user_profile_service.service;
 
+import com.petbuddy.user_profile_service.domain.user.FollowCountersView;
 import com.petbuddy.user_profile_service.domain.user.User;
 import com.petbuddy.user_profile_service.domain.user.UserFollow;
 import com.petbuddy.user_profile_service.domain.user.UserRepository;
+import com.petbuddy.user_profile_service.repository.FollowCountView;
 import com.petbuddy.user_profile_service.repository.UserFollowRepository;
+import com.petbuddy.user_profile_service.util.FollowCursorUtil;
+import com.petbuddy.user_profile_service.util.FollowCursorUtil.FollowCursor;
+import com.petbuddy.user_profile_service.web.dto.FollowCursorResponse;
 import com.petbuddy.user_profile_service.web.dto.FollowListResponse;
 import com.petbuddy.user_profile_service.web.dto.FollowStatusResponse;
 import com.petbuddy.user_profile_service.web.dto.UserSummaryDTO;
@@ -16,8 +21,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +36,7 @@ public class FollowService {
 
     private final UserFollowRepository followRepository;
     private final UserRepository userRepository;
+    private final SocialGraphCacheService socialGraphCache;
 
     /**
      * Follow a user
@@ -57,7 +67,10 @@ public class FollowService {
                 .followingId(followingId)
                 .build();
 
-        followRepository.save(follow);
+        followRepository.saveAndFlush(follow);
+        userRepository.incrementFollowersCount(followingId, 1);
+        userRepository.incrementFollowingCount(followerId, 1);
+        socialGraphCache.onFollow(followerId, followingId);
         log.info("User {} now follows user {}", followerId, followingId);
         return true;
     }
@@ -67,11 +80,13 @@ public class FollowService {
      */
     @Transactional
     public boolean unfollowUser(UUID followerId, UUID followingId) {
-        if (!followRepository.existsByFollowerIdAndFollowingId(followerId, followingId)) {
+        if (followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId) == 0) {
             return false;
         }
 
-        followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId);
+        userRepository.incrementFollowersCount(followingId, -1);
+        userRepository.incrementFollowingCount(followerId, -1);
+        socialGraphCache.onUnfollow(followerId, followingId);
         log.info("User {} unfollowed user {}", followerId, followingId);
         return true;
     }
@@ -81,15 +96,14 @@ public class FollowService {
      */
     @Transactional(readOnly = true)
     public FollowStatusResponse getFollowStatus(UUID currentUserId, UUID targetUserId) {
-        boolean isFollowing = followRepository.existsByFollowerIdAndFollowingId(currentUserId, targetUserId);
-        long followersCount = followRepository.countByFollowingId(targetUserId);
-        long followingCount = followRepository.countByFollowerId(targetUserId);
+        boolean isFollowing = socialGraphCache.isFollowing(currentUserId, targetUserId);
+        Optional<FollowCountersView> counters = userRepository.findFollowCountersById(targetUserId);
 
         return FollowStatusResponse.builder()
                 .userId(targetUserId.toString())
                 .isFollowing(isFollowing)
-                .followersCount(followersCount)
-                .followingCount(followingCount)
+                .followersCount(counters.map(FollowCountersView::getFollowersCount).orElse(0L))
+                .followingCount(counters.map(FollowCountersView::getFollowingCount).orElse(0L))
                 .build();
     }
 
@@ -105,17 +119,7 @@ public class FollowService {
                 .map(UserFollow::getFollowerId)
                 .toList();
 
-        // Get user details for followers
-        List<User> users = userRepository.findAllById(followerIds);
-
-        // Check which users the current user follows
-        Set<UUID> currentUserFollowing = currentUserId != null
-                ? Set.copyOf(followRepository.findFollowingIdsInList(currentUserId, followerIds))
-                : Set.of();
-
-        List<UserSummaryDTO> userSummaries = users.stream()
-                .map(user -> mapToUserSummary(user, currentUserFollowing.contains(user.getId())))
-                .collect(Collectors.toList());
+        List<UserSummaryDTO> userSummaries = toUserSummaries(followerIds, currentUserId);
 
         return FollowListResponse.builder()
                 .users(userSummaries)
@@ -139,17 +143,7 @@ public class FollowService {
                 .map(UserFollow::getFollowingId)
                 .toList();
 
-        // Get user details
-        List<User> users = userRepository.findAllById(followingIds);
-
-        // Check which users the current user follows
-        Set<UUID> currentUserFollowing = currentUserId != null
-                ? Set.copyOf(followRepository.findFollowingIdsInList(currentUserId, followingIds))
-                : Set.of();
-
-        List<UserSummaryDTO> userSummaries = users.stream()
-                .map(user -> mapToUserSummary(user, currentUserFollowing.contains(user.getId())))
-                .collect(Collectors.toList());
+        List<UserSummaryDTO> userSummaries = toUserSummaries(followingIds, currentUserId);
 
         return FollowListResponse.builder()
                 .users(userSummaries)
@@ -161,12 +155,48 @@ public class FollowService {
                 .build();
     }
 
+    /**
+     * Get followers of a user using keyset pagination, newest follow first
+     *
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public FollowCursorResponse getFollowersPage(UUID userId, UUID currentUserId, String cursor, int size) {
+        FollowCursor position = FollowCursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<UserFollow> follows = position == null
+                ? followRepository.findByFollowingIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : followRepository.findFollowersAfter(userId, position.createdAt(), position.id(), limit);
+
+        return toCursorResponse(follows, size, UserFollow::getFollowerId, currentUserId);
+    }
+
+    /**
+     * Get users followed by a user using keyset pagination, newest follow first
+     *
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public FollowCursorResponse getFollowingPage(UUID userId, UUID currentUserId, String cursor, int size) {
+        FollowCursor position = FollowCursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<UserFollow> follows = position == null
+                ? followRepository.findByFollowerIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : followRepository.findFollowingAfter(userId, position.createdAt(), position.id(), limit);
+
+        return toCursorResponse(follows, size, UserFollow::getFollowingId, currentUserId);
+    }
+
     /**
      * Get follower count for a user
      */
     @Transactional(readOnly = true)
     public long getFollowerCount(UUID userId) {
-        return followRepository.countByFollowingId(userId);
+        return userRepository.findFollowCountersById(userId)
+                .map(FollowCountersView::getFollowersCount)
+                .orElse(0L);
     }
 
     /**
@@ -174,7 +204,9 @@ public class FollowService {
      */
     @Transactional(readOnly = true)
     public long getFollowingCount(UUID userId) {
-        return followRepository.countByFollowerId(userId);
+        return userRepository.findFollowCountersById(userId)
+                .map(FollowCountersView::getFollowingCount)
+                .orElse(0L);
     }
 
     /**
@@ -182,7 +214,18 @@ public class FollowService {
      */
     @Transactional(readOnly = true)
     public boolean isFollowing(UUID followerId, UUID followingId) {
-        return followRepository.existsByFollowerIdAndFollowingId(followerId, followingId);
+        return socialGraphCache.isFollowing(followerId, followingId);
+    }
+
+    /**
+     * Get all follower IDs of a user (used for feed fan-out)
+     */
+    @Transactional(readOnly = true)
+    public List<String> getFollowerIds(UUID userId) {
+        return socialGraphCache.getFollowerIds(userId)
+                .stream()
+                .map(UUID::toString)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -190,22 +233,109 @@ public class FollowService {
      */
     @Transactional(readOnly = true)
     public List<String> getFollowingIdsFromList(UUID currentUserId, List<UUID> userIds) {
-        return followRepository.findFollowingIdsInList(currentUserId, userIds)
+        return socialGraphCache.filterFollowing(currentUserId, userIds)
                 .stream()
                 .map(UUID::toString)
                 .collect(Collectors.toList());
     }
 
-    private UserSummaryDTO mapToUserSummary(User user, boolean isFollowing) {
-        long followersCount = followRepository.countByFollowingId(user.getId());
+    /**
+     * Recompute the denormalized follow counters for one keyset batch of users.
+     * The batch rows are locked before counting, so a follow either committed before the
+     * lock (counted and already in the counter) or updates the counter after this commits
+     * (in neither); the difference is therefore real drift.
+     *
+     * @param afterId   last user id of the previous batch
+     * @param batchSize maximum number of users to check
+     */
+    @Transactional
+    public CounterReconciliationBatch reconcileFollowCounters(UUID afterId, int batchSize) {
+        List<FollowCountersView> batch = userRepository.lockFollowCountersAfter(afterId, batchSize);
+        if (batch.isEmpty()) {
+            return new CounterReconciliationBatch(0, 0, null);
+        }
+
+        Set<UUID> ids = batch.stream().map(FollowCountersView::getId).collect(Collectors.toSet());
+        Map<UUID, Long> followers = toCountMap(followRepository.countFollowersByFollowingIds(ids));
+        Map<UUID, Long> following = toCountMap(followRepository.countFollowingByFollowerIds(ids));
+
+        int drifted = 0;
+        for (FollowCountersView counters : batch) {
+            long followersDelta = followers.getOrDefault(counters.getId(), 0L) - counters.getFollowersCount();
+            long followingDelta = following.getOrDefault(counters.getId(), 0L) - counters.getFollowingCount();
+
+            if (followersDelta != 0 || followingDelta != 0) {
+                if (followersDelta != 0) {
+                    userRepository.incrementFollowersCount(counters.getId(), followersDelta);
+                }
+                if (followingDelta != 0) {
+                    userRepository.incrementFollowingCount(counters.getId(), followingDelta);
+                }
+                drifted++;
+                log.warn("Follow counter drift for user {}: followers {}, following {}",
+                        counters.getId(), followersDelta, followingDelta);
+            }
+        }
+
+        return new CounterReconciliationBatch(batch.size(), drifted, batch.get(batch.size() - 1).getId());
+    }
+
+    private Map<UUID, Long> toCountMap(List<FollowCountView> counts) {
+        return counts.stream().collect(Collectors.toMap(FollowCountView::getUserId, FollowCountView::getTotal));
+    }
+
+    /**
+     * Outcome of a single reconciliation batch; lastId is null once all users were scanned.
+     */
+    public record CounterReconciliationBatch(int scanned, int drifted, UUID lastId) {
+    }
+
+    private FollowCursorResponse toCursorResponse(List<UserFollow> follows, int size,
+            Function<UserFollow, UUID> userIdExtractor, UUID currentUserId) {
+        // One extra row was fetched to detect whether another page exists
+        boolean hasNext = follows.size() > size;
+        List<UserFollow> page = hasNext ? follows.subList(0, size) : follows;
 
+        List<UUID> userIds = page.stream().map(userIdExtractor).toList();
+
+        return FollowCursorResponse.builder()
+                .users(toUserSummaries(userIds, currentUserId))
+                .nextCursor(hasNext ? FollowCursorUtil.encode(page.get(page.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Load user summaries for the given ids, preserving the order of the ids
+     */
+    private List<UserSummaryDTO> toUserSummaries(List<UUID> userIds, UUID currentUserId) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Check which users the current user follows
+        Set<UUID> currentUserFollowing = currentUserId != null
+                ? socialGraphCache.filterFollowing(currentUserId, userIds)
+                : Set.of();
+
+        return userIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(user -> mapToUserSummary(user, currentUserFollowing.contains(user.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private UserSummaryDTO mapToUserSummary(User user, boolean isFollowing) {
         return UserSummaryDTO.builder()
                 .id(user.getId().toString())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
                 .avatarUrl(user.getAvatarUrl())
                 .bio(user.getBio())
-                .followersCount(followersCount)
+                .followersCount(user.getFollowersCount())
                 .isFollowing(isFollowing)
                 .build();
     }
@@ -5,6 +5,8 @@ import com.petbuddy.user_profile_service.domain.user.User;
 import com.petbuddy.user_profile_service.domain.user.UserRepository;
 import com.petbuddy.user_profile_service.exception.ResourceNotFoundException;
 import com.petbuddy.user_profile_service.web.dto.CreatePetRequest;
+import com.petbuddy.user_profile_service.web.dto.MedicalDocumentDto;
+import com.petbuddy.user_profile_service.web.dto.PetProfileResponse;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -43,19 +46,42 @@ public class PetProfileService {
 
     @Transactional(readOnly = true)
     @Cacheable(value = "pet-list", key = "#userId")
-    public List<Pet> getUserPets(UUID userId) {
+    public List<PetProfileResponse> getUserPets(UUID userId) {
         log.debug("Fetching pets for user: {}", userId);
-        return petRepository.findAllByUserId(userId);
+        return petRepository.findAllByUserId(userId)
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     @Cacheable(value = "pet-profile", key = "T(String).valueOf(#userId) + ':' + #petId")
-    public Pet getPetProfile(UUID userId, Long petId) {
+    public PetProfileResponse getPetProfile(UUID userId, Long petId) {
+        return toResponse(getOwnedPet(userId, petId));
+    }
+
+    /**
+     * Load the pet entity, verifying it belongs to the user. Not cached: used
+     * where a managed entity is needed (updates, document uploads).
+     */
+    @Transactional(readOnly = true)
+    public Pet getOwnedPet(UUID userId, Long petId) {
         log.debug("Fetching pet profile: userId={}, petId={}", userId, petId);
         return petRepository.findByIdAndUserId(petId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Pet not found"));
     }
 
+    private PetProfileResponse toResponse(Pet pet) {
+        return new PetProfileResponse(
+                pet.getId(),
+                pet.getName(),
+                pet.getSpecies(),
+                pet.getBreed(),
+                pet.getDateOfBirth(),
+                pet.getWeightKg(),
+                pet.getAllergies());
+    }
+
     @Transactional
     @Caching(evict = {
             @CacheEvict(value = "pet-list", key = "#userId")
@@ -88,8 +114,8 @@ public class PetProfileService {
 
     @Transactional
     @Caching(evict = @CacheEvict(value = "pet-list", key = "#userId"), put = @CachePut(value = "pet-profile", key = "T(String).valueOf(#userId) + ':' + #petId"))
-    public Pet updatePet(UUID userId, Long petId, Pet updatedPet) {
-        Pet existingPet = getPetProfile(userId, petId);
+    public PetProfileResponse updatePet(UUID userId, Long petId, Pet updatedPet) {
+        Pet existingPet = getOwnedPet(userId, petId);
 
         try {
             existingPet.setName(updatedPet.getName());
@@ -102,7 +128,7 @@ public class PetProfileService {
             Pet saved = petRepository.save(existingPet);
             log.info("Updated pet: id={}, userId={}, version={}", petId, userId, saved.getVersion());
 
-            return saved;
+            return toResponse(saved);
         } catch (ObjectOptimisticLockingFailureException e) {
             log.warn("Optimistic locking failure for pet: id={}, userId={}", petId, userId);
             throw new IllegalStateException("Pet was modified by another request. Please retry.", e);
@@ -116,7 +142,7 @@ public class PetProfileService {
     })
     public void deletePet(UUID userId, Long petId) {
         // Verify ownership first (will throw if not found)
-        getPetProfile(userId, petId);
+        getOwnedPet(userId, petId);
 
         // Soft delete
         petRepository.deleteByIdAndUserId(petId, userId);
@@ -125,11 +151,13 @@ public class PetProfileService {
 
     @Transactional(readOnly = true)
     @Cacheable(value = "pet-documents", key = "T(String).valueOf(#userId) + ':' + #petId")
-    public List<MedicalDocument> getPetDocuments(UUID userId, Long petId) {
+    public List<MedicalDocumentDto> getPetDocuments(UUID userId, Long petId) {
         // Verify ownership
-        getPetProfile(userId, petId);
+        getOwnedPet(userId, petId);
 
-        return documentRepository.findConfirmedDocumentsByPetId(petId);
+        return documentRepository.findConfirmedDocumentsByPetId(petId).stream()
+                .map(MedicalDocumentDto::from)
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -138,7 +166,7 @@ public class PetProfileService {
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found"));
 
         // Verify ownership through pet
-        getPetProfile(userId, petId);
+        getOwnedPet(userId, petId);
 
         return document;
     }
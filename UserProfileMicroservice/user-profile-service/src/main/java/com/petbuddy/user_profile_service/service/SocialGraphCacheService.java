@@ -0,0 +1,325 @@
+package com.petbuddy.user_profile_service.service;
+
+import com.petbuddy.user_profile_service.repository.UserFollowRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Write-through Redis cache of the social graph.
+ *
+ * Cache Strategy:
+ * - graph:following:{userId} - Set of user IDs the user follows
+ * - graph:followers:{userId} - Set of follower IDs of the user
+ *
+ * - graph:{following|followers}:{userId}:version - Token replaced by every write
+ *
+ * Every cached set contains a marker member so that a fully loaded (possibly
+ * empty) set can be told apart from a missing or partially written one. Sets
+ * are warmed lazily on first read; users above the size cap (celebrities) are
+ * flagged as oversized and always served from Postgres.
+ *
+ * A reader notes the version before reading Postgres and only populates the set
+ * if the version is unchanged, so a follow/unfollow committed in between is never
+ * overwritten by the stale list.
+ */
+@Service
+@Slf4j
+public class SocialGraphCacheService {
+
+    private static final String FOLLOWING_PREFIX = "graph:following:";
+    private static final String FOLLOWERS_PREFIX = "graph:followers:";
+    private static final String OVERSIZED_SUFFIX = ":oversized";
+    private static final String VERSION_SUFFIX = ":version";
+    private static final String LOADED_MARKER = "_";
+    private static final int WARM_UP_CHUNK = 1000;
+
+    /**
+     * Replaces the version token, then applies SADD/SREM only when the set is fully
+     * loaded, so a write-through never creates a partial set that would later be
+     * mistaken for a cache hit.
+     * KEYS[1] = set, KEYS[2] = version; ARGV[1] = marker, ARGV[2] = command,
+     * ARGV[3] = member, ARGV[4] = new version, ARGV[5] = version ttl seconds
+     */
+    private static final RedisScript<Long> UPDATE_IF_LOADED = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[2], ARGV[4], 'EX', ARGV[5])
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+                return redis.call(ARGV[2], KEYS[1], ARGV[3])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * Replaces the set with the loaded members, unless a write changed the version
+     * since the reader's snapshot.
+     * KEYS[1] = set, KEYS[2] = version; ARGV[1] = expected version ('' if none),
+     * ARGV[2] = ttl seconds, ARGV[3..] = members (marker first)
+     */
+    private static final RedisScript<Long> WARM_UP_IF_UNCHANGED = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[2]) or ''
+            if current ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            for i = 3, #ARGV, %d do
+                redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + %d - 1, #ARGV)))
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """.formatted(WARM_UP_CHUNK, WARM_UP_CHUNK), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserFollowRepository followRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final int maxSetSize;
+
+    public SocialGraphCacheService(StringRedisTemplate redisTemplate,
+            UserFollowRepository followRepository,
+            MeterRegistry meterRegistry,
+            @Value("${social-graph.cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${social-graph.cache.max-set-size:5000}") int maxSetSize) {
+        this.redisTemplate = redisTemplate;
+        this.followRepository = followRepository;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxSetSize = maxSetSize;
+    }
+
+    // ============================================
+    // Reads
+    // ============================================
+
+    /**
+     * Check if followerId follows followingId
+     */
+    public boolean isFollowing(UUID followerId, UUID followingId) {
+        return !filterFollowing(followerId, List.of(followingId)).isEmpty();
+    }
+
+    /**
+     * Return the subset of candidateIds that followerId follows.
+     * A cache hit is a single SMISMEMBER round trip.
+     */
+    public Set<UUID> filterFollowing(UUID followerId, Collection<UUID> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return Set.of();
+        }
+
+        String key = FOLLOWING_PREFIX + followerId;
+        try {
+            Object[] members = new Object[candidateIds.size() + 1];
+            members[0] = LOADED_MARKER;
+            int i = 1;
+            for (UUID candidateId : candidateIds) {
+                members[i++] = candidateId.toString();
+            }
+
+            Map<Object, Boolean> membership = redisTemplate.opsForSet().isMember(key, members);
+            if (membership != null && Boolean.TRUE.equals(membership.get(LOADED_MARKER))) {
+                recordLookup("following", "hit");
+                return candidateIds.stream()
+                        .filter(id -> Boolean.TRUE.equals(membership.get(id.toString())))
+                        .collect(Collectors.toSet());
+            }
+
+            if (!isOversized(key)) {
+                recordLookup("following", "miss");
+                String version = currentVersion(key);
+                List<UUID> followingIds = followRepository.findFollowingIdsByFollowerId(followerId);
+                warmUp(key, followingIds, version);
+                Set<UUID> following = new HashSet<>(followingIds);
+                return candidateIds.stream().filter(following::contains).collect(Collectors.toSet());
+            }
+            recordLookup("following", "oversized");
+        } catch (Exception e) {
+            log.warn("Social graph cache read failed for {}: {}", key, e.getMessage());
+        }
+
+        return Set.copyOf(followRepository.findFollowingIdsInList(followerId, List.copyOf(candidateIds)));
+    }
+
+    /**
+     * Get all follower IDs of a user, e.g. for feed fan-out
+     */
+    public List<UUID> getFollowerIds(UUID userId) {
+        String key = FOLLOWERS_PREFIX + userId;
+        try {
+            Set<String> members = redisTemplate.opsForSet().members(key);
+            if (members != null && members.contains(LOADED_MARKER)) {
+                recordLookup("followers", "hit");
+                List<UUID> followerIds = new ArrayList<>(members.size() - 1);
+                for (String member : members) {
+                    if (!LOADED_MARKER.equals(member)) {
+                        followerIds.add(UUID.fromString(member));
+                    }
+                }
+                return followerIds;
+            }
+
+            if (!isOversized(key)) {
+                recordLookup("followers", "miss");
+                String version = currentVersion(key);
+                List<UUID> followerIds = followRepository.findFollowerIdsByFollowingId(userId);
+                warmUp(key, followerIds, version);
+                return followerIds;
+            }
+            recordLookup("followers", "oversized");
+        } catch (Exception e) {
+            log.warn("Social graph cache read failed for {}: {}", key, e.getMessage());
+        }
+
+        return followRepository.findFollowerIdsByFollowingId(userId);
+    }
+
+    // ============================================
+    // Write-through
+    // ============================================
+
+    /**
+     * Record a new follow edge once the surrounding transaction commits
+     */
+    public void onFollow(UUID followerId, UUID followingId) {
+        afterCommit(() -> {
+            updateIfLoaded(FOLLOWING_PREFIX + followerId, "SADD", followingId);
+            updateIfLoaded(FOLLOWERS_PREFIX + followingId, "SADD", followerId);
+        });
+    }
+
+    /**
+     * Remove a follow edge once the surrounding transaction commits
+     */
+    public void onUnfollow(UUID followerId, UUID followingId) {
+        afterCommit(() -> {
+            updateIfLoaded(FOLLOWING_PREFIX + followerId, "SREM", followingId);
+            updateIfLoaded(FOLLOWERS_PREFIX + followingId, "SREM", followerId);
+        });
+    }
+
+    private void updateIfLoaded(String key, String command, UUID member) {
+        try {
+            redisTemplate.execute(UPDATE_IF_LOADED, List.of(key, key + VERSION_SUFFIX),
+                    LOADED_MARKER, command, member.toString(),
+                    UUID.randomUUID().toString(), String.valueOf(ttl.toSeconds()));
+        } catch (Exception e) {
+            // Drop the set rather than leave it stale; it will be reloaded lazily
+            log.warn("Social graph cache {} failed for {}, invalidating: {}", command, key, e.getMessage());
+            try {
+                redisTemplate.delete(key);
+            } catch (Exception ignored) {
+                // Entry expires through its TTL
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ============================================
+    // Warm-up
+    // ============================================
+
+    private boolean isOversized(String key) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key + OVERSIZED_SUFFIX));
+    }
+
+    private String currentVersion(String key) {
+        String version = redisTemplate.opsForValue().get(key + VERSION_SUFFIX);
+        return version != null ? version : "";
+    }
+
+    private void warmUp(String key, List<UUID> ids, String version) {
+        if (ids.size() > maxSetSize) {
+            redisTemplate.opsForValue().set(key + OVERSIZED_SUFFIX, String.valueOf(ids.size()), ttl);
+            log.debug("Not caching {}: {} entries exceeds cap of {}", key, ids.size(), maxSetSize);
+            return;
+        }
+
+        Object[] args = new Object[ids.size() + 3];
+        args[0] = version;
+        args[1] = String.valueOf(ttl.toSeconds());
+        args[2] = LOADED_MARKER;
+        for (int i = 0; i < ids.size(); i++) {
+            args[i + 3] = ids.get(i).toString();
+        }
+
+        Long populated = redisTemplate.execute(WARM_UP_IF_UNCHANGED, List.of(key, key + VERSION_SUFFIX), args);
+        if (Long.valueOf(1).equals(populated)) {
+            recordEntrySize(key, ids.size());
+        } else {
+            log.debug("Not caching {}: changed while loading", key);
+        }
+    }
+
+    // ============================================
+    // Metrics
+    // ============================================
+
+    private void recordLookup(String graph, String result) {
+        Counter.builder("social.graph.cache.lookups")
+                .tag("graph", graph)   // "following" or "followers"
+                .tag("result", result) // "hit", "miss" or "oversized"
+                .description("Social graph cache lookups")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordEntrySize(String key, int members) {
+        DistributionSummary.builder("social.graph.cache.entry.members")
+                .description("Members per cached social graph set")
+                .register(meterRegistry)
+                .record(members);
+
+        Long bytes = redisTemplate.execute((RedisCallback<Long>) connection -> memoryUsage(connection, key));
+        if (bytes != null) {
+            DistributionSummary.builder("social.graph.cache.entry.bytes")
+                    .baseUnit("bytes")
+                    .description("Redis memory used per cached social graph set")
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+
+    private Long memoryUsage(RedisConnection connection, String key) {
+        try {
+            Object result = connection.execute("MEMORY",
+                    "USAGE".getBytes(StandardCharsets.UTF_8),
+                    key.getBytes(StandardCharsets.UTF_8));
+            return result instanceof Number number ? number.longValue() : null;
+        } catch (Exception e) {
+            // MEMORY USAGE may be disabled on managed Redis
+            return null;
+        }
+    }
+}
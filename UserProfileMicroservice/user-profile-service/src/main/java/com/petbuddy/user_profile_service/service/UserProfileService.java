@@ -9,11 +9,14 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.petbuddy.user_profile_service.web.dto.ShippingAddressDto;
 import com.petbuddy.user_profile_service.web.dto.UserProfileRequest;
+import com.petbuddy.user_profile_service.web.dto.UserProfileResponse;
 import com.petbuddy.user_profile_service.web.dto.UserProfileUpdateRequest;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class UserProfileService {
@@ -32,8 +35,20 @@ public class UserProfileService {
 
     @Transactional(readOnly = true)
     @Cacheable(value = "user-profile", key = "#userId")
-    public User getUserProfile(UUID userId) {
-        return userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public UserProfileResponse getUserProfile(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        // Cache a flat projection rather than the entity and its lazy collections
+        return new UserProfileResponse(
+                user.getId().toString(),
+                user.getAuthUserId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getBio(),
+                user.getAvatarUrl(),
+                user.getStripeCustomerId());
     }
 
     public User addUserProfile(UUID userId, UserProfileRequest request) {
@@ -84,8 +99,19 @@ public class UserProfileService {
 
     @Transactional(readOnly = true)
     @Cacheable(value = "user-addresses", key = "#userId")
-    public List<ShippingAddress> getUserAddresses(UUID userId, String authUserId) {
-        return shippingAddressRepository.findAllByUserId(userId);
+    public List<ShippingAddressDto> getUserAddresses(UUID userId, String authUserId) {
+        return shippingAddressRepository.findAllByUserId(userId)
+                .stream()
+                .map(addr -> new ShippingAddressDto(
+                        addr.getId(),
+                        addr.getAddressLine1(),
+                        addr.getAddressLine2(),
+                        addr.getCity(),
+                        addr.getState(),
+                        addr.getZipCode(),
+                        addr.getCountry(),
+                        addr.isDefault()))
+                .collect(Collectors.toList());
     }
 
     @Transactional
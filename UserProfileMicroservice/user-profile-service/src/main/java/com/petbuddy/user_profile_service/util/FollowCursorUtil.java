@@ -0,0 +1,49 @@
+package com.petbuddy.user_profile_service.util;
+
+import com.petbuddy.user_profile_service.domain.user.UserFollow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes keyset cursors for follower/following lists.
+ * Format: Base64(createdAt_id) of the last follow row on the page.
+ */
+public class FollowCursorUtil {
+
+    private static final char SEPARATOR = '_';
+
+    private FollowCursorUtil() {
+        // Utility class
+    }
+
+    public record FollowCursor(LocalDateTime createdAt, Long id) {
+    }
+
+    public static String encode(UserFollow follow) {
+        String raw = follow.getCreatedAt().toString() + SEPARATOR + follow.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a missing cursor (first page)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static FollowCursor decode(String encodedCursor) {
+        if (encodedCursor == null || encodedCursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encodedCursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new FollowCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor format", e);
+        }
+    }
+}
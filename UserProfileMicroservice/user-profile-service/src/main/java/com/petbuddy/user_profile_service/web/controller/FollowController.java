@@ -1,6 +1,7 @@
 package com.petbuddy.user_profile_service.web.controller;
 
 import com.petbuddy.user_profile_service.service.FollowService;
+import com.petbuddy.user_profile_service.web.dto.FollowCursorResponse;
 import com.petbuddy.user_profile_service.web.dto.FollowListResponse;
 import com.petbuddy.user_profile_service.web.dto.FollowStatusResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -158,6 +159,74 @@ public class FollowController {
         return ResponseEntity.ok(following);
     }
 
+    /**
+     * Get followers of a user with keyset pagination
+     */
+    @GetMapping("/{userId}/followers/cursor")
+    @Operation(summary = "Get followers (cursor)", description = "Get followers newest first using an opaque cursor instead of page offsets")
+    @ApiResponse(responseCode = "200", description = "Followers page retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<FollowCursorResponse> getFollowersByCursor(
+            @RequestHeader(value = "X-DB-User-Id", required = false) String currentUserId,
+            @PathVariable @Parameter(description = "User ID") String userId,
+            @RequestParam(required = false) @Parameter(description = "Cursor from the previous page") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size") int size) {
+
+        log.debug("GET /api/v1/users/{}/followers/cursor - cursor: {}, size: {}", userId, cursor, size);
+
+        try {
+            UUID currentUserUUID = currentUserId != null ? UUID.fromString(currentUserId) : null;
+            return ResponseEntity.ok(followService.getFollowersPage(
+                    UUID.fromString(userId),
+                    currentUserUUID,
+                    cursor,
+                    Math.max(1, Math.min(size, 100))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get users that a user is following with keyset pagination
+     */
+    @GetMapping("/{userId}/following/cursor")
+    @Operation(summary = "Get following (cursor)", description = "Get followed users newest first using an opaque cursor instead of page offsets")
+    @ApiResponse(responseCode = "200", description = "Following page retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<FollowCursorResponse> getFollowingByCursor(
+            @RequestHeader(value = "X-DB-User-Id", required = false) String currentUserId,
+            @PathVariable @Parameter(description = "User ID") String userId,
+            @RequestParam(required = false) @Parameter(description = "Cursor from the previous page") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size") int size) {
+
+        log.debug("GET /api/v1/users/{}/following/cursor - cursor: {}, size: {}", userId, cursor, size);
+
+        try {
+            UUID currentUserUUID = currentUserId != null ? UUID.fromString(currentUserId) : null;
+            return ResponseEntity.ok(followService.getFollowingPage(
+                    UUID.fromString(userId),
+                    currentUserUUID,
+                    cursor,
+                    Math.max(1, Math.min(size, 100))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get all follower IDs of a user
+     */
+    @GetMapping("/{userId}/follower-ids")
+    @Operation(summary = "Get follower IDs", description = "Get the IDs of all followers of a user, e.g. for feed fan-out")
+    @ApiResponse(responseCode = "200", description = "Follower IDs retrieved")
+    public ResponseEntity<List<String>> getFollowerIds(
+            @PathVariable @Parameter(description = "User ID") String userId) {
+
+        log.debug("GET /api/v1/users/{}/follower-ids", userId);
+
+        return ResponseEntity.ok(followService.getFollowerIds(UUID.fromString(userId)));
+    }
+
     /**
      * Batch check which users from a list the current user follows
      */
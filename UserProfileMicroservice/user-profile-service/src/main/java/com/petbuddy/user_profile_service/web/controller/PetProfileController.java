@@ -37,17 +37,7 @@ public class PetProfileController {
     @Operation(summary = "List all pets for current user")
     public ResponseEntity<List<PetProfileResponse>> listPets(Authentication auth) {
         List<PetProfileResponse> pets = petProfileService
-                .getUserPets(UUID.fromString(auth.getName()))
-                .stream()
-                .map(pet -> new PetProfileResponse(
-                        pet.getId(),
-                        pet.getName(),
-                        pet.getSpecies(),
-                        pet.getBreed(),
-                        pet.getDateOfBirth(),
-                        pet.getWeightKg(),
-                        pet.getAllergies()))
-                .collect(Collectors.toList());
+                .getUserPets(UUID.fromString(auth.getName()));
 
         return ResponseEntity.ok(pets);
     }
@@ -58,18 +48,11 @@ public class PetProfileController {
             Authentication auth,
             @PathVariable Long petId) {
 
-        Pet pet = petProfileService.getPetProfile(
+        PetProfileResponse pet = petProfileService.getPetProfile(
                 UUID.fromString(auth.getName()),
                 petId);
 
-        return ResponseEntity.ok(new PetProfileResponse(
-                pet.getId(),
-                pet.getName(),
-                pet.getSpecies(),
-                pet.getBreed(),
-                pet.getDateOfBirth(),
-                pet.getWeightKg(),
-                pet.getAllergies()));
+        return ResponseEntity.ok(pet);
     }
 
     @PostMapping
@@ -119,7 +102,7 @@ public class PetProfileController {
             @PathVariable Long petId,
             @Valid @RequestBody PresignedUploadUrlRequest request) {
 
-        Pet pet = petProfileService.getPetProfile(
+        Pet pet = petProfileService.getOwnedPet(
                 UUID.fromString(auth.getName()),
                 petId);
 
@@ -160,16 +143,16 @@ public class PetProfileController {
             @PathVariable Long petId) {
 
         UUID userId = UUID.fromString(auth.getName());
-        List<MedicalDocument> documents = petProfileService.getPetDocuments(userId, petId);
+        List<MedicalDocumentDto> documents = petProfileService.getPetDocuments(userId, petId);
 
         List<MedicalDocumentMetadataResponse> response = documents.stream()
                 .map(doc -> {
-                    String downloadUrl = petProfileService.getMedicalDocumentDownloadUrl(userId, petId, doc.getId());
+                    String downloadUrl = petProfileService.getMedicalDocumentDownloadUrl(userId, petId, doc.id());
                     return new MedicalDocumentMetadataResponse(
-                            doc.getId(),
-                            doc.getFileName(),
-                            doc.getFileMimeType(),
-                            doc.getFileSizeBytes(),
+                            doc.id(),
+                            doc.fileName(),
+                            doc.fileMimeType(),
+                            doc.fileSizeBytes(),
                             downloadUrl);
                 })
                 .collect(Collectors.toList());
@@ -14,7 +14,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/profile/me")
@@ -49,21 +48,13 @@ public class UserProfileController {
         @Operation(summary = "Get current user's profile")
         public ResponseEntity<UserProfileResponse> getProfile(Authentication auth,
                         @RequestHeader("X-DB-User-Id") String userId) {
-                User user = userProfileService.getUserProfile(UUID.fromString(userId));
+                UserProfileResponse profile = userProfileService.getUserProfile(UUID.fromString(userId));
 
-                if (!user.getAuthUserId().equals(auth.getName())) {
+                if (!profile.authUserId().equals(auth.getName())) {
                         return ResponseEntity.status(403).build();
                 }
 
-                return ResponseEntity.ok(new UserProfileResponse(
-                                user.getId().toString(),
-                                user.getAuthUserId(),
-                                user.getEmail(),
-                                user.getFirstName(),
-                                user.getLastName(),
-                                user.getBio(),
-                                user.getAvatarUrl(),
-                                user.getStripeCustomerId()));
+                return ResponseEntity.ok(profile);
         }
 
         @PutMapping
@@ -92,18 +83,7 @@ public class UserProfileController {
         public ResponseEntity<List<ShippingAddressDto>> listAddresses(Authentication auth,
                         @RequestHeader("X-DB-User-Id") String userId) {
                 List<ShippingAddressDto> addresses = userProfileService
-                                .getUserAddresses(UUID.fromString(userId), auth.getName())
-                                .stream()
-                                .map(addr -> new ShippingAddressDto(
-                                                addr.getId(),
-                                                addr.getAddressLine1(),
-                                                addr.getAddressLine2(),
-                                                addr.getCity(),
-                                                addr.getState(),
-                                                addr.getZipCode(),
-                                                addr.getCountry(),
-                                                addr.isDefault()))
-                                .collect(Collectors.toList());
+                                .getUserAddresses(UUID.fromString(userId), auth.getName());
 
                 return ResponseEntity.ok(addresses);
         }
@@ -0,0 +1,21 @@
+package com.petbuddy.user_profile_service.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated response for followers/following lists, newest follow first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowCursorResponse {
+    private List<UserSummaryDTO> users;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,21 @@
+package com.petbuddy.user_profile_service.web.dto;
+
+import com.petbuddy.user_profile_service.domain.pet.MedicalDocument;
+
+/**
+ * Cacheable view of a confirmed medical document; the download URL is presigned per request
+ */
+public record MedicalDocumentDto(
+    Long id,
+    String fileName,
+    String fileMimeType,
+    Long fileSizeBytes
+) {
+    public static MedicalDocumentDto from(MedicalDocument document) {
+        return new MedicalDocumentDto(
+                document.getId(),
+                document.getFileName(),
+                document.getFileMimeType(),
+                document.getFileSizeBytes());
+    }
+}
@@ -0,0 +1,17 @@
+-- V3__add_follow_counters.sql
+-- Denormalized follower/following counters on users, maintained by FollowService
+-- and periodically reconciled by FollowCounterReconciliationScheduler.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS followers_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS following_count BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from existing follow relationships
+UPDATE users u
+SET followers_count = c.total
+FROM (SELECT following_id, COUNT(*) AS total FROM user_follows GROUP BY following_id) c
+WHERE u.id = c.following_id;
+
+UPDATE users u
+SET following_count = c.total
+FROM (SELECT follower_id, COUNT(*) AS total FROM user_follows GROUP BY follower_id) c
+WHERE u.id = c.follower_id;
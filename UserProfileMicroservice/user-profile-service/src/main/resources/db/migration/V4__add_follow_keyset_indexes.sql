@@ -0,0 +1,10 @@
+-- V4__add_follow_keyset_indexes.sql
+-- Composite indexes backing keyset pagination of followers/following lists
+-- ordered by (created_at DESC, id DESC). They also cover the plain
+-- follower_id / following_id lookups, so the single-column indexes are dropped.
+
+CREATE INDEX IF NOT EXISTS idx_follows_following_created ON user_follows(following_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_follows_follower_created ON user_follows(follower_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_follows_follower;
+DROP INDEX IF EXISTS idx_follows_following;
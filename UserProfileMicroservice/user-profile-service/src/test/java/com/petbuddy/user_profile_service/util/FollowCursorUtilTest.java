@@ -0,0 +1,68 @@
+package com.petbuddy.user_profile_service.util;
+
+import com.petbuddy.user_profile_service.domain.user.UserFollow;
+import com.petbuddy.user_profile_service.util.FollowCursorUtil.FollowCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FollowCursorUtilTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000);
+        UserFollow follow = UserFollow.builder().id(42L).createdAt(createdAt).build();
+
+        FollowCursor cursor = FollowCursorUtil.decode(FollowCursorUtil.encode(follow));
+
+        assertThat(cursor).isEqualTo(new FollowCursor(createdAt, 42L));
+    }
+
+    @Test
+    void roundTripsWholeSecondTimestamps() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        UserFollow follow = UserFollow.builder().id(Long.MAX_VALUE).createdAt(createdAt).build();
+
+        assertThat(FollowCursorUtil.decode(FollowCursorUtil.encode(follow)))
+                .isEqualTo(new FollowCursor(createdAt, Long.MAX_VALUE));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        UserFollow follow = UserFollow.builder().id(7L).createdAt(LocalDateTime.of(2025, 6, 1, 12, 0, 1)).build();
+
+        assertThat(FollowCursorUtil.encode(follow)).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(FollowCursorUtil.decode(null)).isNull();
+        assertThat(FollowCursorUtil.decode("")).isNull();
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotBase64() {
+        assertThatThrownBy(() -> FollowCursorUtil.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor format");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-01-01T00:00", "2025-01-01T00:00_abc", "yesterday_12", "_"})
+    void rejectsMalformedCursorContents(String raw) {
+        assertThatThrownBy(() -> FollowCursorUtil.decode(base64(raw)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor format");
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,161 @@
+package com.petbuddy.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value serializer for one cache's value type: Jackson Smile (binary JSON) without
+ * embedded type info, deflated above a size threshold.
+ *
+ * - The value type comes from the cache configuration, so no @class is stored and DTOs
+ *   can be moved or renamed without invalidating entries.
+ * - Unknown properties are ignored and missing ones left empty, so adding or removing a
+ *   DTO field does not break entries written by the previous version.
+ * - Payloads that cannot be read, including JSON written before this serializer, come
+ *   back as null, which RedisCache treats as a miss and overwrites.
+ *
+ * Metrics (tagged cache): cache.serializer.payload.bytes and cache.serializer.time
+ * (tagged op=serialize|deserialize).
+ */
+@Slf4j
+public class CompactRedisSerializer<T> implements RedisSerializer<T> {
+
+    // Smile documents start with ":)\n"; deflated payloads with this marker byte instead
+    private static final byte SMILE_HEADER = ':';
+    private static final byte DEFLATED = 0x01;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final JavaType type;
+    private final int compressionThreshold;
+    private final DistributionSummary payloadSize;
+    private final Timer serializeTime;
+    private final Timer deserializeTime;
+
+    public CompactRedisSerializer(String cacheName, JavaType type, int compressionThreshold,
+            MeterRegistry meterRegistry) {
+        this.type = type;
+        this.compressionThreshold = compressionThreshold;
+        this.payloadSize = DistributionSummary.builder("cache.serializer.payload.bytes")
+                .description("Size of values written to the Redis cache")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.serializeTime = Timer.builder("cache.serializer.time")
+                .tag("cache", cacheName)
+                .tag("op", "serialize")
+                .register(meterRegistry);
+        this.deserializeTime = Timer.builder("cache.serializer.time")
+                .tag("cache", cacheName)
+                .tag("op", "deserialize")
+                .register(meterRegistry);
+    }
+
+    public static JavaType typeOf(Class<?> type) {
+        return MAPPER.getTypeFactory().constructType(type);
+    }
+
+    public static JavaType listOf(Class<?> elementType) {
+        return MAPPER.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        long start = System.nanoTime();
+        try {
+            byte[] bytes = MAPPER.writerFor(type).writeValueAsBytes(value);
+            if (bytes.length > compressionThreshold) {
+                bytes = deflate(bytes);
+            }
+            payloadSize.record(bytes.length);
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + type, e);
+        } finally {
+            serializeTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (bytes[0] == DEFLATED) {
+                bytes = inflate(bytes);
+            } else if (bytes[0] != SMILE_HEADER) {
+                return null;
+            }
+            return MAPPER.readValue(bytes, type);
+        } catch (IOException | DataFormatException e) {
+            log.debug("Unreadable {} cache entry, treating as a miss: {}", type, e.getMessage());
+            return null;
+        } finally {
+            deserializeTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 1);
+            out.write(DEFLATED);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Truncated deflated payload");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.petbuddy.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactRedisSerializerTest {
+
+    private static final int THRESHOLD = 256;
+
+    record Item(Long id, String name, LocalDateTime createdAt) {
+    }
+
+    record ItemV2(Long id, String name, LocalDateTime createdAt, String extra) {
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private <T> CompactRedisSerializer<T> serializer(Class<T> type) {
+        return new CompactRedisSerializer<>("items", CompactRedisSerializer.typeOf(type), THRESHOLD, registry);
+    }
+
+    @Test
+    void smallValuesAreWrittenAsPlainSmile() {
+        CompactRedisSerializer<Item> serializer = serializer(Item.class);
+        Item item = new Item(1L, "Rex", LocalDateTime.of(2025, 5, 1, 10, 30));
+
+        byte[] bytes = serializer.serialize(item);
+
+        assertThat(bytes.length).isLessThanOrEqualTo(THRESHOLD);
+        assertThat(bytes[0]).isEqualTo((byte) ':');
+        assertThat(serializer.deserialize(bytes)).isEqualTo(item);
+    }
+
+    @Test
+    void largeValuesAreDeflatedAndInflatedBack() {
+        CompactRedisSerializer<List<Item>> serializer = new CompactRedisSerializer<>(
+                "items", CompactRedisSerializer.listOf(Item.class), THRESHOLD, registry);
+        List<Item> items = IntStream.range(0, 50)
+                .mapToObj(i -> new Item((long) i, "Item number " + i, LocalDateTime.of(2025, 5, 1, 10, i)))
+                .toList();
+
+        byte[] bytes = serializer.serialize(items);
+
+        assertThat(bytes[0]).isEqualTo((byte) 0x01);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(items);
+    }
+
+    @Test
+    void legacyJsonPayloadsReadAsMiss() {
+        byte[] legacy = "{\"@class\":\"com.petbuddy.Item\",\"id\":1,\"name\":\"Rex\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(serializer(Item.class).deserialize(legacy)).isNull();
+    }
+
+    @Test
+    void corruptDeflatedPayloadsReadAsMiss() {
+        CompactRedisSerializer<List<Item>> serializer = new CompactRedisSerializer<>(
+                "items", CompactRedisSerializer.listOf(Item.class), 0, registry);
+        byte[] bytes = serializer.serialize(List.of(new Item(1L, "Rex", null)));
+
+        assertThat(serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2))).isNull();
+    }
+
+    @Test
+    void nullAndEmptyPayloads() {
+        CompactRedisSerializer<Item> serializer = serializer(Item.class);
+
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void entriesSurviveAddedAndRemovedFields() {
+        ItemV2 written = new ItemV2(1L, "Rex", null, "new field");
+        byte[] bytes = serializer(ItemV2.class).serialize(written);
+
+        assertThat(serializer(Item.class).deserialize(bytes)).isEqualTo(new Item(1L, "Rex", null));
+
+        byte[] older = serializer(Item.class).serialize(new Item(2L, "Max", null));
+        assertThat(serializer(ItemV2.class).deserialize(older)).isEqualTo(new ItemV2(2L, "Max", null, null));
+    }
+
+    @Test
+    void recordsPayloadSizeAndTimings() {
+        CompactRedisSerializer<Item> serializer = serializer(Item.class);
+        byte[] bytes = serializer.serialize(new Item(1L, "Rex", null));
+        serializer.deserialize(bytes);
+
+        assertThat(registry.get("cache.serializer.payload.bytes").tag("cache", "items").summary().totalAmount())
+                .isEqualTo(bytes.length);
+        assertThat(registry.get("cache.serializer.time").tag("op", "serialize").timer().count()).isEqualTo(1);
+        assertThat(registry.get("cache.serializer.time").tag("op", "deserialize").timer().count()).isEqualTo(1);
+    }
+}